@@ -0,0 +1,163 @@
+package team.omok.omok_mini_project.cluster;
+
+/**
+ * 노드 간에 오가는 이벤트 (불변)
+ * <p>
+ * 엣지 노드(웹소켓이 붙은 노드) -> 방 주인 노드:
+ * JOIN, MOVE, CHAT, FORBIDDEN_CELLS, LEAVE, ENTER(응답 REPLY)
+ * <p>
+ * 방 주인 노드 -> 엣지 노드:
+ * DELIVER(세션에 프레임 전송), CLOSE(세션 끊기), REPLY
+ * <p>
+ * 모든 노드 간:
+ * LOBBY_ROOM / LOBBY_ROOM_REMOVED(로비 방 목록 합치기), LOBBY_SYNC(전체 목록 요청), HEARTBEAT
+ * <p>
+ * 필드는 타입마다 필요한 것만 채운다. (나머지는 0/null)
+ */
+public final class ClusterEvent {
+
+    public enum Type {
+        JOIN, MOVE, CHAT, FORBIDDEN_CELLS, LEAVE, ENTER,
+        DELIVER, CLOSE, REPLY,
+        LOBBY_ROOM, LOBBY_ROOM_REMOVED, LOBBY_SYNC, HEARTBEAT
+    }
+
+    private final Type type;
+    private final String from;          // 보낸 노드
+    private final String roomId;
+    private final int userId;
+    private final String sessionId;     // 엣지 노드의 웹소켓 세션 id
+    private final long requestId;       // ENTER/REPLY 짝 맞추기
+    private final int x;
+    private final int y;
+    private final boolean flag;         // JOIN: 바이너리 서브프로토콜, REPLY: 성공 여부
+    private final String text;          // JOIN: 역할, CHAT: 메시지, DELIVER: JSON 프레임, LOBBY_ROOM: 방 정보 JSON
+    private final byte[] data;          // DELIVER: 바이너리 프레임
+
+    private ClusterEvent(Type type, String from, String roomId, int userId, String sessionId, long requestId,
+                         int x, int y, boolean flag, String text, byte[] data) {
+        this.type = type;
+        this.from = from;
+        this.roomId = roomId;
+        this.userId = userId;
+        this.sessionId = sessionId;
+        this.requestId = requestId;
+        this.x = x;
+        this.y = y;
+        this.flag = flag;
+        this.text = text;
+        this.data = data;
+    }
+
+    /// ////////////// 엣지 -> 주인 ////////////////////
+
+    public static ClusterEvent join(String from, String roomId, int userId, String sessionId,
+                                    boolean spectator, boolean binary) {
+        return new ClusterEvent(Type.JOIN, from, roomId, userId, sessionId, 0, 0, 0,
+                binary, spectator ? "SPECTATOR" : "PLAYER", null);
+    }
+
+    public static ClusterEvent move(String from, String roomId, int userId, int x, int y) {
+        return new ClusterEvent(Type.MOVE, from, roomId, userId, null, 0, x, y, false, null, null);
+    }
+
+    public static ClusterEvent chat(String from, String roomId, int userId, String message) {
+        return new ClusterEvent(Type.CHAT, from, roomId, userId, null, 0, 0, 0, false, message, null);
+    }
+
+    public static ClusterEvent forbiddenCells(String from, String roomId, int userId, String sessionId) {
+        return new ClusterEvent(Type.FORBIDDEN_CELLS, from, roomId, userId, sessionId, 0, 0, 0, false, null, null);
+    }
+
+    public static ClusterEvent leave(String from, String roomId, int userId, String sessionId) {
+        return new ClusterEvent(Type.LEAVE, from, roomId, userId, sessionId, 0, 0, 0, false, null, null);
+    }
+
+    public static ClusterEvent enter(String from, String roomId, int userId, long requestId) {
+        return new ClusterEvent(Type.ENTER, from, roomId, userId, null, requestId, 0, 0, false, null, null);
+    }
+
+    /// ////////////// 주인 -> 엣지 ////////////////////
+
+    public static ClusterEvent deliver(String from, String sessionId, String text, byte[] binary) {
+        return new ClusterEvent(Type.DELIVER, from, null, 0, sessionId, 0, 0, 0, false, text, binary);
+    }
+
+    public static ClusterEvent close(String from, String sessionId, String reason) {
+        return new ClusterEvent(Type.CLOSE, from, null, 0, sessionId, 0, 0, 0, false, reason, null);
+    }
+
+    public static ClusterEvent reply(String from, long requestId, boolean ok, String message) {
+        return new ClusterEvent(Type.REPLY, from, null, 0, null, requestId, 0, 0, ok, message, null);
+    }
+
+    /// ////////////// 노드 간 ////////////////////
+
+    public static ClusterEvent lobbyRoom(String from, String roomId, String viewJson) {
+        return new ClusterEvent(Type.LOBBY_ROOM, from, roomId, 0, null, 0, 0, 0, false, viewJson, null);
+    }
+
+    public static ClusterEvent lobbyRoomRemoved(String from, String roomId) {
+        return new ClusterEvent(Type.LOBBY_ROOM_REMOVED, from, roomId, 0, null, 0, 0, 0, false, null, null);
+    }
+
+    public static ClusterEvent lobbySync(String from) {
+        return new ClusterEvent(Type.LOBBY_SYNC, from, null, 0, null, 0, 0, 0, false, null, null);
+    }
+
+    public static ClusterEvent heartbeat(String from) {
+        return new ClusterEvent(Type.HEARTBEAT, from, null, 0, null, 0, 0, 0, false, null, null);
+    }
+
+    /// ////////////// getter ////////////////////
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getRequestId() {
+        return requestId;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public boolean isFlag() {
+        return flag;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return type + "{from=" + from + ", roomId=" + roomId + ", userId=" + userId
+                + ", sessionId=" + sessionId + "}";
+    }
+}
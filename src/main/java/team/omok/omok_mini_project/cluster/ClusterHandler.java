@@ -0,0 +1,38 @@
+package team.omok.omok_mini_project.cluster;
+
+import javax.websocket.Session;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다른 노드에서 넘어온 이벤트를 이 노드에서 실제로 처리하는 곳
+ * <p>
+ * 기본 구현은 RoomService/LobbyFeed로 넘기는 {@link RoomClusterHandler}.
+ * (같은 JVM에서 여러 노드를 띄워 확인할 때는 노드마다 다른 구현을 넣을 수 있다)
+ */
+public interface ClusterHandler {
+
+    /// 방 주인 노드 쪽 (session은 RemoteSession)
+
+    void onJoin(String roomId, int userId, Session session, boolean spectator);
+
+    void onMove(String roomId, int userId, int x, int y);
+
+    void onChat(String roomId, int userId, String message);
+
+    void onForbiddenCells(String roomId, Session session);
+
+    void onLeave(String roomId, int userId, Session session);
+
+    // 플레이어 자리 잡기 (실패하면 예외, 메시지가 요청한 노드로 돌아감)
+    void enterRoom(String roomId, int userId);
+
+    /// 로비 방 목록 합치기
+
+    // 이 노드가 주인인 방들의 로비 정보 (LOBBY_SYNC 응답용)
+    List<Map<String, Object>> localRoomViews();
+
+    void remoteRoomChanged(Map<String, Object> view);
+
+    void remoteRoomRemoved(String roomId);
+}
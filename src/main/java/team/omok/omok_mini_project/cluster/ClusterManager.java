@@ -0,0 +1,473 @@
+package team.omok.omok_mini_project.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import team.omok.omok_mini_project.util.BinaryCodec;
+import team.omok.omok_mini_project.util.JsonUtil;
+import team.omok.omok_mini_project.util.SessionOutbox;
+
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 클러스터 모드 (기본 꺼짐)
+ * <p>
+ * 설정 (JVM 시스템 프로퍼티):
+ * - omok.cluster.nodeId : 이 노드 이름 (기본 node-1)
+ * - omok.cluster.nodes  : 전체 노드 이름 목록, 쉼표 구분 (2개 이상이면 클러스터 모드)
+ * - omok.cluster.bus    : EventBus 구현 클래스 (기본 LoopbackEventBus)
+ * <p>
+ * 동작:
+ * - 방은 roomId 일관 해싱(HashRing)으로 정해진 노드 하나가 주인이다. 방 생성 시 이 노드가 주인인 id를 뽑는다.
+ * - 웹소켓이 다른 노드 방으로 붙으면(엣지 노드) 입장/착수/채팅/퇴장을 주인 노드로 넘기고,
+ *   주인 노드는 RemoteSession으로 일반 세션처럼 처리한 뒤 보낼 프레임을 DELIVER로 돌려준다.
+ * - HTTP 방 입장(자리 잡기)은 주인 노드에 ENTER 요청 후 응답을 기다린다.
+ * - 로비 방 목록은 노드마다 자기 방 변경을 LOBBY_ROOM으로 뿌리고, 받은 쪽 LobbyFeed가 합친다.
+ * - HEARTBEAT가 주기의 3배 넘게 없는 노드는 끊긴 것으로 보고 그 노드 방/세션을 정리한다.
+ * <p>
+ * 빠른 입장/랭크 매칭은 자기 노드 방 안에서만 찾는다. 노드가 죽으면 그 노드 방은 재시작 복구 전까지 사라진다.
+ */
+public class ClusterManager {
+
+    private static final long HEARTBEAT_MS = 2_000;
+    private static final long REQUEST_TIMEOUT_MS = 3_000;
+    private static final int MAX_ID_ATTEMPTS = 1_000;
+
+    private final String nodeId;
+    private final HashRing ring;
+    private final EventBus bus;
+    private final ClusterHandler handler;
+    private final boolean enabled;
+    private final long heartbeatMs;
+    private final long peerTimeoutMs;
+
+    // 엣지: 이 노드에 붙었지만 방은 다른 노드에 있는 세션 (sessionId -> session)
+    private final Map<String, Session> edgeSessions = new ConcurrentHashMap<>();
+    // 주인: 다른 노드 세션의 대리 객체 (node/sessionId -> RemoteSession)
+    private final Map<String, RemoteSession> remoteSessions = new ConcurrentHashMap<>();
+    // 다른 노드 마지막 heartbeat 시각
+    private final Map<String, Long> peerSeen = new ConcurrentHashMap<>();
+    // 로비에 합쳐둔 다른 노드 방 (roomId -> 주인 노드)
+    private final Map<String, String> remoteRooms = new ConcurrentHashMap<>();
+    // ENTER 응답 대기 (requestId -> future)
+    private final Map<Long, CompletableFuture<ClusterEvent>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicLong requestSeq = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    // 지표
+    private final AtomicLong forwarded = new AtomicLong();     // 엣지 -> 주인
+    private final AtomicLong delivered = new AtomicLong();     // 주인 -> 엣지 프레임
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong requestTimeouts = new AtomicLong();
+    private final AtomicLong peersExpired = new AtomicLong();
+
+    public ClusterManager(String nodeId, List<String> nodes, EventBus bus, ClusterHandler handler) {
+        this(nodeId, nodes, bus, handler, HEARTBEAT_MS);
+    }
+
+    // heartbeat 주기 지정 (테스트에서 노드 끊김을 빨리 보려고)
+    ClusterManager(String nodeId, List<String> nodes, EventBus bus, ClusterHandler handler, long heartbeatMs) {
+        this.heartbeatMs = heartbeatMs;
+        this.peerTimeoutMs = 3 * heartbeatMs;
+        this.nodeId = nodeId;
+        this.ring = new HashRing(nodes);
+        this.bus = bus;
+        this.handler = handler;
+        this.enabled = nodes.size() > 1;
+        if (!nodes.contains(nodeId)) {
+            throw new IllegalArgumentException("nodeId " + nodeId + " is not in cluster nodes " + nodes);
+        }
+    }
+
+    // 이 JVM의 노드 (시스템 프로퍼티로 구성, 클러스터 모드면 바로 시작)
+    public static ClusterManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        static final ClusterManager INSTANCE = fromSystemProperties();
+    }
+
+    private static ClusterManager fromSystemProperties() {
+        String nodeId = configuredNodeId();
+        List<String> nodes = configuredNodes();
+
+        ClusterManager cluster = new ClusterManager(nodeId, nodes, createBus(), new RoomClusterHandler());
+        cluster.start();
+        return cluster;
+    }
+
+    // 시스템 프로퍼티 기준 설정값 (인스턴스를 만들지 않고 읽을 때용, 예: 노드별 저널 디렉터리)
+    public static String configuredNodeId() {
+        return System.getProperty("omok.cluster.nodeId", "node-1");
+    }
+
+    public static List<String> configuredNodes() {
+        return Arrays.stream(System.getProperty("omok.cluster.nodes", configuredNodeId()).split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    public static boolean isConfigured() {
+        return configuredNodes().size() > 1;
+    }
+
+    private static EventBus createBus() {
+        String busClass = System.getProperty("omok.cluster.bus");
+        if (busClass == null || busClass.isBlank()) {
+            return LoopbackEventBus.shared();
+        }
+        try {
+            return (EventBus) Class.forName(busClass).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot create cluster bus " + busClass, e);
+        }
+    }
+
+    /// ////////////// 시작/종료 ////////////////////
+
+    public synchronized void start() {
+        if (!enabled || scheduler != null) return;
+
+        bus.register(nodeId, this::onEvent);
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "omok-cluster-" + nodeId);
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::heartbeat, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+
+        // 이미 떠 있는 노드들의 로비 방 목록 요청
+        bus.broadcast(ClusterEvent.lobbySync(nodeId));
+        System.out.println("[INFO] ClusterManager started: nodeId=" + nodeId + ", nodes=" + ring.getNodes());
+    }
+
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        scheduler = null;
+        bus.unregister(nodeId);
+    }
+
+    /// ////////////// 방 소유 ////////////////////
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String ownerOf(String roomId) {
+        return ring.ownerOf(roomId);
+    }
+
+    // 이 방을 다른 노드가 처리해야 하는지 (클러스터 모드가 꺼져 있으면 항상 false)
+    public boolean isRemote(String roomId) {
+        return enabled && roomId != null && !nodeId.equals(ring.ownerOf(roomId));
+    }
+
+    // 새 방 id (클러스터 모드면 이 노드가 주인인 id가 나올 때까지 다시 뽑음, 평균 노드 수만큼)
+    public String newLocalRoomId() {
+        String roomId = UUID.randomUUID().toString();
+        for (int i = 0; i < MAX_ID_ATTEMPTS && isRemote(roomId); i++) {
+            roomId = UUID.randomUUID().toString();
+        }
+        return roomId;
+    }
+
+    /// ////////////// 엣지 노드 -> 주인 노드 ////////////////////
+
+    public void forwardJoin(String roomId, int userId, Session session, boolean spectator) {
+        edgeSessions.put(session.getId(), session);
+        send(ownerOf(roomId), ClusterEvent.join(nodeId, roomId, userId, session.getId(),
+                spectator, BinaryCodec.isBinary(session)));
+    }
+
+    public void forwardMove(String roomId, int userId, int x, int y) {
+        send(ownerOf(roomId), ClusterEvent.move(nodeId, roomId, userId, x, y));
+    }
+
+    public void forwardChat(String roomId, int userId, String message) {
+        send(ownerOf(roomId), ClusterEvent.chat(nodeId, roomId, userId, message));
+    }
+
+    public void forwardForbiddenCells(String roomId, int userId, Session session) {
+        send(ownerOf(roomId), ClusterEvent.forbiddenCells(nodeId, roomId, userId, session.getId()));
+    }
+
+    public void forwardLeave(String roomId, int userId, Session session) {
+        if (edgeSessions.remove(session.getId()) != null) {
+            send(ownerOf(roomId), ClusterEvent.leave(nodeId, roomId, userId, session.getId()));
+        }
+    }
+
+    /**
+     * 다른 노드 방에 플레이어로 자리 잡기 (HTTP 스레드에서 응답까지 대기)
+     *
+     * @throws IllegalStateException 주인 노드가 거절했거나 응답이 없으면
+     */
+    public void enterRemote(String roomId, int userId) {
+        long requestId = requestSeq.incrementAndGet();
+        CompletableFuture<ClusterEvent> future = new CompletableFuture<>();
+        pendingRequests.put(requestId, future);
+        try {
+            send(ownerOf(roomId), ClusterEvent.enter(nodeId, roomId, userId, requestId));
+            ClusterEvent reply = future.get(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (!reply.isFlag()) {
+                throw new IllegalStateException(reply.getText());
+            }
+        } catch (TimeoutException e) {
+            requestTimeouts.incrementAndGet();
+            throw new IllegalStateException("방 서버 응답이 없습니다: " + ownerOf(roomId));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pendingRequests.remove(requestId);
+        }
+    }
+
+    /// ////////////// 주인 노드 -> 엣지 노드 (RemoteSession에서 호출) ////////////////////
+
+    void deliver(RemoteSession session, String text, byte[] binary) {
+        delivered.incrementAndGet();
+        bus.send(session.getNode(), ClusterEvent.deliver(nodeId, session.getRemoteSessionId(), text, binary));
+    }
+
+    void closeRemote(RemoteSession session, String reason) {
+        bus.send(session.getNode(), ClusterEvent.close(nodeId, session.getRemoteSessionId(), reason));
+    }
+
+    /// ////////////// 로비 방 목록 ////////////////////
+
+    // 이 노드 방이 바뀌었을 때 (LobbyFeed에서 호출)
+    public void publishRoomView(Map<String, Object> view) {
+        if (!enabled) return;
+        try {
+            bus.broadcast(ClusterEvent.lobbyRoom(nodeId, (String) view.get("roomId"),
+                    JsonUtil.MAPPER.writeValueAsString(view)));
+        } catch (IOException e) {
+            System.out.println("[WARN] ClusterManager lobby publish failed: " + e.getMessage());
+        }
+    }
+
+    public void publishRoomRemoved(String roomId) {
+        if (!enabled) return;
+        bus.broadcast(ClusterEvent.lobbyRoomRemoved(nodeId, roomId));
+    }
+
+    // 로비에 합쳐진 다른 노드 방이면 주인 노드 이름, 아니면 null
+    public String getRemoteRoomNode(String roomId) {
+        return remoteRooms.get(roomId);
+    }
+
+    /// ////////////// 이벤트 처리 (버스 수신 스레드) ////////////////////
+
+    private void onEvent(ClusterEvent e) {
+        received.incrementAndGet();
+        if (!nodeId.equals(e.getFrom()) && peerSeen.put(e.getFrom(), System.currentTimeMillis()) == null) {
+            // 처음 보는(혹은 다시 살아난) 노드: 그쪽 방 목록 요청
+            bus.send(e.getFrom(), ClusterEvent.lobbySync(nodeId));
+        }
+
+        try {
+            switch (e.getType()) {
+                case JOIN -> onRemoteJoin(e);
+                case MOVE -> handler.onMove(e.getRoomId(), e.getUserId(), e.getX(), e.getY());
+                case CHAT -> handler.onChat(e.getRoomId(), e.getUserId(), e.getText());
+                case FORBIDDEN_CELLS -> {
+                    RemoteSession session = remoteSessions.get(e.getFrom() + "/" + e.getSessionId());
+                    if (session != null) handler.onForbiddenCells(e.getRoomId(), session);
+                }
+                case LEAVE -> onRemoteLeave(remoteSessions.remove(e.getFrom() + "/" + e.getSessionId()));
+                case ENTER -> onRemoteEnter(e);
+                case REPLY -> {
+                    CompletableFuture<ClusterEvent> future = pendingRequests.remove(e.getRequestId());
+                    if (future != null) future.complete(e);
+                }
+                case DELIVER -> {
+                    Session session = edgeSessions.get(e.getSessionId());
+                    if (session != null) {
+                        SessionOutbox.sendRaw(session, e.getText(),
+                                e.getData() == null ? null : ByteBuffer.wrap(e.getData()).asReadOnlyBuffer());
+                    }
+                }
+                case CLOSE -> closeEdgeSession(edgeSessions.get(e.getSessionId()), e.getText());
+                case LOBBY_ROOM -> {
+                    remoteRooms.put(e.getRoomId(), e.getFrom());
+                    handler.remoteRoomChanged(JsonUtil.MAPPER.readValue(e.getText(),
+                            new TypeReference<Map<String, Object>>() {
+                            }));
+                }
+                case LOBBY_ROOM_REMOVED -> {
+                    remoteRooms.remove(e.getRoomId());
+                    handler.remoteRoomRemoved(e.getRoomId());
+                }
+                case LOBBY_SYNC -> {
+                    for (Map<String, Object> view : handler.localRoomViews()) {
+                        bus.send(e.getFrom(), ClusterEvent.lobbyRoom(nodeId, (String) view.get("roomId"),
+                                JsonUtil.MAPPER.writeValueAsString(view)));
+                    }
+                }
+                case HEARTBEAT -> {
+                    // peerSeen 갱신만
+                }
+            }
+        } catch (Exception ex) {
+            System.out.println("[WARN] ClusterManager event failed: " + e + ", " + ex);
+            ex.printStackTrace();
+        }
+    }
+
+    private void onRemoteJoin(ClusterEvent e) {
+        RemoteSession session = new RemoteSession(this, e.getFrom(), e.getSessionId(), e.getRoomId(), e.getUserId());
+        if (e.isFlag()) {
+            session.getUserProperties().put(BinaryCodec.SESSION_KEY, Boolean.TRUE);
+        }
+        remoteSessions.put(session.getId(), session);
+        try {
+            handler.onJoin(e.getRoomId(), e.getUserId(), session, "SPECTATOR".equals(e.getText()));
+        } catch (RuntimeException ex) {
+            // 방이 없으면 엣지 세션을 끊는다 (로컬 입장 실패와 같은 처리)
+            System.out.println("[WARN] ClusterManager remote join failed: " + e + ", " + ex.getMessage());
+            session.close();
+        }
+    }
+
+    private void onRemoteLeave(RemoteSession session) {
+        if (session == null) return;
+        session.markClosed();
+        try {
+            handler.onLeave(session.getRoomId(), session.getUserId(), session);
+        } finally {
+            SessionOutbox.release(session);
+        }
+    }
+
+    private void onRemoteEnter(ClusterEvent e) {
+        try {
+            handler.enterRoom(e.getRoomId(), e.getUserId());
+            bus.send(e.getFrom(), ClusterEvent.reply(nodeId, e.getRequestId(), true, null));
+        } catch (RuntimeException ex) {
+            bus.send(e.getFrom(), ClusterEvent.reply(nodeId, e.getRequestId(), false, ex.getMessage()));
+        }
+    }
+
+    private void closeEdgeSession(Session session, String reason) {
+        if (session == null) return;
+        // close는 전송 중인 프레임을 기다릴 수 있어서 버스 스레드를 막지 않게 넘긴다
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER,
+                        reason == null ? "" : reason));
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    /// ////////////// heartbeat / 노드 정리 ////////////////////
+
+    private void heartbeat() {
+        try {
+            bus.broadcast(ClusterEvent.heartbeat(nodeId));
+
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Long> peer : peerSeen.entrySet()) {
+                if (now - peer.getValue() > peerTimeoutMs) {
+                    expirePeer(peer.getKey());
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("[WARN] ClusterManager heartbeat failed: " + e);
+        }
+    }
+
+    // 끊긴 노드 정리: 그 노드 방은 로비에서 빼고, 그 노드 세션은 퇴장 처리, 그 노드 방에 붙은 내 세션은 끊는다
+    private void expirePeer(String peer) {
+        peerSeen.remove(peer);
+        peersExpired.incrementAndGet();
+        System.out.println("[WARN] ClusterManager peer expired: " + peer);
+
+        for (Map.Entry<String, String> room : new ArrayList<>(remoteRooms.entrySet())) {
+            if (peer.equals(room.getValue()) && remoteRooms.remove(room.getKey(), peer)) {
+                handler.remoteRoomRemoved(room.getKey());
+            }
+        }
+        for (RemoteSession session : new ArrayList<>(remoteSessions.values())) {
+            if (peer.equals(session.getNode()) && remoteSessions.remove(session.getId(), session)) {
+                onRemoteLeave(session);
+            }
+        }
+        for (Session session : new ArrayList<>(edgeSessions.values())) {
+            String roomId = session.getPathParameters().get("roomId");
+            if (peer.equals(ownerOf(roomId))) {
+                closeEdgeSession(session, "room node unavailable");
+            }
+        }
+    }
+
+    private void send(String toNode, ClusterEvent event) {
+        forwarded.incrementAndGet();
+        bus.send(toNode, event);
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public int getPeerCount() {
+        return peerSeen.size();
+    }
+
+    public int getEdgeSessionCount() {
+        return edgeSessions.size();
+    }
+
+    public int getRemoteSessionCount() {
+        return remoteSessions.size();
+    }
+
+    public int getRemoteRoomCount() {
+        return remoteRooms.size();
+    }
+
+    public long getForwardedCount() {
+        return forwarded.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getRequestTimeoutCount() {
+        return requestTimeouts.get();
+    }
+
+    public long getPeersExpiredCount() {
+        return peersExpired.get();
+    }
+}
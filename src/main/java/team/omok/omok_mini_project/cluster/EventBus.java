@@ -0,0 +1,29 @@
+package team.omok.omok_mini_project.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 이벤트 전달 통로 (교체 가능)
+ * <p>
+ * 구현체가 지켜야 할 것:
+ * - 같은 (보낸 노드, 받는 노드) 쌍의 이벤트는 보낸 순서대로 전달한다. (착수/입장/퇴장 순서 유지)
+ * - send/broadcast는 막히지 않아야 한다. (방 메일박스, 웹소켓 스레드에서 호출됨)
+ * - 받는 노드가 없으면 조용히 버린다. (끊긴 노드는 ClusterManager가 heartbeat로 정리)
+ * <p>
+ * 기본 구현은 같은 JVM 안에서만 전달하는 {@link LoopbackEventBus}.
+ * 외부 브로커(Redis pub/sub, Kafka 등)를 쓰려면 이 인터페이스를 구현해서
+ * -Domok.cluster.bus=클래스이름 으로 지정한다. (기본 생성자 필요)
+ */
+public interface EventBus {
+
+    // 이 노드로 오는 이벤트 받기 시작
+    void register(String nodeId, Consumer<ClusterEvent> handler);
+
+    void unregister(String nodeId);
+
+    // 한 노드에게
+    void send(String toNode, ClusterEvent event);
+
+    // 보낸 노드를 뺀 모든 노드에게
+    void broadcast(ClusterEvent event);
+}
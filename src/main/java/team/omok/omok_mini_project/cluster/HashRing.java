@@ -0,0 +1,57 @@
+package team.omok.omok_mini_project.cluster;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * roomId -> 담당 노드 (일관 해싱)
+ * <p>
+ * - 노드마다 가상 노드 VIRTUAL_NODES개를 링에 뿌려서 방이 노드 수에 맞게 고르게 나뉘도록 한다.
+ * - 노드가 하나 늘거나 빠져도 그 노드 몫의 방만 주인이 바뀐다.
+ * - 생성 후에는 읽기만 하므로 스레드 안전 (멤버 변경은 링을 새로 만들어 교체)
+ */
+public final class HashRing {
+    private static final int VIRTUAL_NODES = 128;
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    public HashRing(Collection<String> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("cluster needs at least one node");
+        }
+        this.nodes = List.copyOf(nodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    public String ownerOf(String key) {
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(key));
+        return (e != null ? e : ring.firstEntry()).getValue();
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    // FNV-1a 64 + murmur3 fmix64 (문자열만 받으므로 MessageDigest 없이 빠르게)
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,81 @@
+package team.omok.omok_mini_project.cluster;
+
+import team.omok.omok_mini_project.util.SerialExecutor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안의 노드끼리 이벤트를 주고받는 버스 (외부 브로커 없이 멀티 노드 동작 확인용)
+ * <p>
+ * - 받는 노드마다 SerialExecutor 하나로 꺼내 실행해서, 네트워크처럼 비동기 + 노드별 순서 보장
+ * - ClusterEvent는 불변이라 복사 없이 그대로 넘긴다.
+ */
+public class LoopbackEventBus implements EventBus {
+    private static final LoopbackEventBus shared = new LoopbackEventBus();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // 같은 JVM의 ClusterManager들이 같이 쓰는 버스
+    public static LoopbackEventBus shared() {
+        return shared;
+    }
+
+    @Override
+    public void register(String nodeId, Consumer<ClusterEvent> handler) {
+        endpoints.put(nodeId, new Endpoint(handler));
+    }
+
+    @Override
+    public void unregister(String nodeId) {
+        endpoints.remove(nodeId);
+    }
+
+    @Override
+    public void send(String toNode, ClusterEvent event) {
+        Endpoint endpoint = endpoints.get(toNode);
+        if (endpoint == null) {
+            dropped.incrementAndGet();
+            return;
+        }
+        endpoint.deliver(event);
+    }
+
+    @Override
+    public void broadcast(ClusterEvent event) {
+        endpoints.forEach((nodeId, endpoint) -> {
+            if (!nodeId.equals(event.getFrom())) {
+                endpoint.deliver(event);
+            }
+        });
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private final class Endpoint {
+        final Consumer<ClusterEvent> handler;
+        final SerialExecutor inbox = new SerialExecutor();
+
+        Endpoint(Consumer<ClusterEvent> handler) {
+            this.handler = handler;
+        }
+
+        void deliver(ClusterEvent event) {
+            inbox.execute(() -> {
+                delivered.incrementAndGet();
+                handler.accept(event);
+            });
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package team.omok.omok_mini_project.cluster;
+
+import javax.websocket.CloseReason;
+import javax.websocket.Extension;
+import javax.websocket.MessageHandler;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * 다른 노드에 붙어 있는 웹소켓 세션의 대리 객체 (방 주인 노드에서 사용)
+ * <p>
+ * - Room/RoomService/SessionOutbox는 일반 세션처럼 다루고, 보내는 프레임은 DELIVER 이벤트로 엣지 노드에 넘어간다.
+ * - 전송은 버스에 넣는 즉시 완료로 알린다. (실제 느린 소비자 처리는 엣지 노드의 SessionOutbox가 함)
+ * - close는 엣지 노드에 CLOSE를 보내고, 엣지가 실제 세션을 끊으면 LEAVE가 다시 돌아온다.
+ * - 메시지 핸들러 등 서버 엔드포인트 전용 기능은 지원하지 않는다.
+ */
+public class RemoteSession implements Session {
+
+    private final ClusterManager cluster;
+    private final String node;          // 실제 세션이 붙어 있는 노드
+    private final String sessionId;     // 그 노드에서의 세션 id
+    private final String id;            // 이 노드에서 쓰는 id (노드/세션id, 노드 간 중복 없음)
+    private final String roomId;
+    private final int userId;
+    private final Map<String, Object> userProperties = new ConcurrentHashMap<>();
+    private final Async async = new Async();
+    private volatile boolean open = true;
+
+    RemoteSession(ClusterManager cluster, String node, String sessionId, String roomId, int userId) {
+        this.cluster = cluster;
+        this.node = node;
+        this.sessionId = sessionId;
+        this.id = node + "/" + sessionId;
+        this.roomId = roomId;
+        this.userId = userId;
+        this.userProperties.put("user_id", userId);
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public String getRemoteSessionId() {
+        return sessionId;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    // LEAVE를 받았거나 노드가 끊겼을 때
+    void markClosed() {
+        open = false;
+    }
+
+    /// ////////////// Session ////////////////////
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public RemoteEndpoint.Async getAsyncRemote() {
+        return async;
+    }
+
+    @Override
+    public Map<String, Object> getUserProperties() {
+        return userProperties;
+    }
+
+    @Override
+    public void close() {
+        close(new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, ""));
+    }
+
+    @Override
+    public void close(CloseReason closeReason) {
+        if (!open) return;
+        open = false;
+        cluster.closeRemote(this, closeReason.getReasonPhrase());
+    }
+
+    @Override
+    public Map<String, String> getPathParameters() {
+        return Map.of("roomId", roomId);
+    }
+
+    @Override
+    public Map<String, List<String>> getRequestParameterMap() {
+        return Map.of();
+    }
+
+    @Override
+    public String getQueryString() {
+        return null;
+    }
+
+    @Override
+    public String getNegotiatedSubprotocol() {
+        return null;
+    }
+
+    @Override
+    public List<Extension> getNegotiatedExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public String getProtocolVersion() {
+        return "13";
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public long getMaxIdleTimeout() {
+        return 0;
+    }
+
+    @Override
+    public void setMaxIdleTimeout(long milliseconds) {
+    }
+
+    @Override
+    public void setMaxBinaryMessageBufferSize(int length) {
+    }
+
+    @Override
+    public int getMaxBinaryMessageBufferSize() {
+        return 0;
+    }
+
+    @Override
+    public void setMaxTextMessageBufferSize(int length) {
+    }
+
+    @Override
+    public int getMaxTextMessageBufferSize() {
+        return 0;
+    }
+
+    @Override
+    public Set<Session> getOpenSessions() {
+        return Set.of(this);
+    }
+
+    @Override
+    public URI getRequestURI() {
+        return null;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return null;
+    }
+
+    @Override
+    public WebSocketContainer getContainer() {
+        return null;
+    }
+
+    @Override
+    public RemoteEndpoint.Basic getBasicRemote() {
+        throw new UnsupportedOperationException("RemoteSession supports async sends only");
+    }
+
+    @Override
+    public void addMessageHandler(MessageHandler handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> void addMessageHandler(Class<T> clazz, MessageHandler.Whole<T> handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> void addMessageHandler(Class<T> clazz, MessageHandler.Partial<T> handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<MessageHandler> getMessageHandlers() {
+        return Set.of();
+    }
+
+    @Override
+    public void removeMessageHandler(MessageHandler handler) {
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteSession{" + id + ", roomId=" + roomId + ", userId=" + userId + "}";
+    }
+
+    /// ////////////// 전송 (DELIVER 이벤트로 변환) ////////////////////
+
+    private final class Async implements RemoteEndpoint.Async {
+
+        @Override
+        public void sendText(String text, SendHandler handler) {
+            cluster.deliver(RemoteSession.this, text, null);
+            handler.onResult(new SendResult());
+        }
+
+        @Override
+        public Future<Void> sendText(String text) {
+            cluster.deliver(RemoteSession.this, text, null);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void sendBinary(ByteBuffer data, SendHandler handler) {
+            cluster.deliver(RemoteSession.this, null, toBytes(data));
+            handler.onResult(new SendResult());
+        }
+
+        @Override
+        public Future<Void> sendBinary(ByteBuffer data) {
+            cluster.deliver(RemoteSession.this, null, toBytes(data));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public Future<Void> sendObject(Object data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendObject(Object data, SendHandler handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getSendTimeout() {
+            return 0;
+        }
+
+        @Override
+        public void setSendTimeout(long timeout) {
+        }
+
+        @Override
+        public void setBatchingAllowed(boolean allowed) {
+        }
+
+        @Override
+        public boolean getBatchingAllowed() {
+            return false;
+        }
+
+        @Override
+        public void flushBatch() {
+        }
+
+        @Override
+        public void sendPing(ByteBuffer applicationData) {
+        }
+
+        @Override
+        public void sendPong(ByteBuffer applicationData) {
+        }
+
+        private byte[] toBytes(ByteBuffer data) {
+            byte[] bytes = new byte[data.remaining()];
+            data.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package team.omok.omok_mini_project.cluster;
+
+import team.omok.omok_mini_project.manager.LobbyFeed;
+import team.omok.omok_mini_project.service.RoomService;
+
+import javax.websocket.Session;
+import java.util.List;
+import java.util.Map;
+
+// 기본 ClusterHandler: 다른 노드에서 온 요청을 이 노드의 RoomService/LobbyFeed로 처리
+public class RoomClusterHandler implements ClusterHandler {
+
+    private final RoomService roomService = new RoomService();
+
+    @Override
+    public void onJoin(String roomId, int userId, Session session, boolean spectator) {
+        roomService.onJoin(roomId, userId, session, spectator);
+    }
+
+    @Override
+    public void onMove(String roomId, int userId, int x, int y) {
+        roomService.handleMove(roomId, userId, x, y);
+    }
+
+    @Override
+    public void onChat(String roomId, int userId, String message) {
+        roomService.handleChat(roomId, userId, message);
+    }
+
+    @Override
+    public void onForbiddenCells(String roomId, Session session) {
+        roomService.handleForbiddenCells(roomId, session);
+    }
+
+    @Override
+    public void onLeave(String roomId, int userId, Session session) {
+        roomService.onLeave(roomId, userId, session);
+    }
+
+    @Override
+    public void enterRoom(String roomId, int userId) {
+        roomService.enterRoom(roomId, userId);
+    }
+
+    @Override
+    public List<Map<String, Object>> localRoomViews() {
+        return LobbyFeed.getInstance().localViews();
+    }
+
+    @Override
+    public void remoteRoomChanged(Map<String, Object> view) {
+        LobbyFeed.getInstance().remoteRoomChanged(view);
+    }
+
+    @Override
+    public void remoteRoomRemoved(String roomId) {
+        LobbyFeed.getInstance().remoteRoomRemoved(roomId);
+    }
+}
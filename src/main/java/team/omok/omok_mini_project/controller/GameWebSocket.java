@@ -1,24 +1,31 @@
 package team.omok.omok_mini_project.controller;
 
+import team.omok.omok_mini_project.cluster.ClusterManager;
 import team.omok.omok_mini_project.domain.dto.MovePayload;
 import team.omok.omok_mini_project.domain.dto.WsMessage;
 import team.omok.omok_mini_project.enums.MessageType;
 import team.omok.omok_mini_project.manager.RoomManager;
 import team.omok.omok_mini_project.service.RoomService;
+import team.omok.omok_mini_project.util.BinaryCodec;
 import team.omok.omok_mini_project.util.HttpSessionConfigurator;
-import team.omok.omok_mini_project.util.JsonUtil;
+import team.omok.omok_mini_project.util.EncodedFrame;
+import team.omok.omok_mini_project.util.InboundDecoder;
+import team.omok.omok_mini_project.util.SessionOutbox;
 
 import javax.websocket.*;
 import javax.websocket.server.PathParam;
 import javax.websocket.server.ServerEndpoint;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
 
 @ServerEndpoint(
         configurator = HttpSessionConfigurator.class,
-        value = "/ws/game/{roomId}"
+        value = "/ws/game/{roomId}",
+        subprotocols = {BinaryCodec.SUBPROTOCOL}
 )
 public class GameWebSocket {
 
@@ -46,13 +53,22 @@ public class GameWebSocket {
         // 2) 세션에 role 저장 (onMessage에서 MOVE 차단할 때 사용)
         session.getUserProperties().put(KEY_WS_ROLE, role.name());
 
+        // 바이너리 서브프로토콜을 요청한 클라이언트면 착수/카운트다운/종료를 바이너리로 주고받는다
+        if (BinaryCodec.SUBPROTOCOL.equals(session.getNegotiatedSubprotocol())) {
+            session.getUserProperties().put(BinaryCodec.SESSION_KEY, Boolean.TRUE);
+        }
+
         System.out.printf("[WS OPEN] roomId=%s, userId=%d, role=%s, sessionId=%s%n",
                 roomId, userId, role.name(), session.getId());
 
 
-        // 3) Join - RoomService에 위임
+        // 3) Join - RoomService에 위임 (클러스터 모드에서 다른 노드 방이면 주인 노드로 넘김)
         try {
             boolean spectator = role == WsRole.SPECTATOR;
+            if (cluster().isRemote(roomId)) {
+                cluster().forwardJoin(roomId, userId, session, spectator);
+                return;
+            }
             roomService.onJoin(roomId, userId, session, spectator);
         } catch (Exception e) {
             session.close();
@@ -61,50 +77,61 @@ public class GameWebSocket {
 
     @OnMessage
     public void onMessage(String message, Session session) {
-        System.out.println("[WS MESSAGE] " + message);
-
         try {
             int userId = getUserId(session);
             String roomId = getRoomId(session);
 
-            WsMessage<?> wsMessage = JsonUtil.MAPPER.readValue(message, WsMessage.class);
+            // type 먼저 읽고 payload를 바로 MovePayload/String으로 디코딩 (InboundDecoder)
+            WsMessage<?> wsMessage = InboundDecoder.decode(message);
 
             switch (wsMessage.getType()) {
-                case MOVE -> {
-                    // 관전자 착수 불가
-//                    String role = session.getUserProperties().get(KEY_WS_ROLE).toString();
-                    if (getRole(session) == WsRole.SPECTATOR) {
-                        sendError(session, "SPECTATOR_CANNOT_MOVE");
-                        return;
-                    }
+                case MOVE -> handleMove(session, roomId, userId, (MovePayload) wsMessage.getPayload());
 
-                    MovePayload payload =
-                            JsonUtil.MAPPER.convertValue(
-                                    wsMessage.getPayload(),
-                                    MovePayload.class
-                            );
-
-                    roomService.handleMove(
-                            roomId,
-                            userId,
-                            payload.getX(),
-                            payload.getY()
-                    );
+                case CHAT -> {
+                    if (cluster().isRemote(roomId)) {
+                        cluster().forwardChat(roomId, userId, (String) wsMessage.getPayload());
+                    } else {
+                        roomService.handleChat(roomId, userId, (String) wsMessage.getPayload());
+                    }
                 }
 
-                case CHAT -> {
-                    String msg = (String) wsMessage.getPayload();
-                    roomService.handleChat(roomId, userId, msg);
+                case FORBIDDEN_CELLS -> {
+                    if (cluster().isRemote(roomId)) {
+                        cluster().forwardForbiddenCells(roomId, userId, session);
+                    } else {
+                        roomService.handleForbiddenCells(roomId, session);
+                    }
                 }
 
                 default -> sendError(session, "UNSUPPORTED_MESSAGE");
             }
+        } catch (IllegalArgumentException e) {
+            // 형식 오류는 스택트레이스 없이 한 줄만
+            System.out.println("[WARN] invalid ws message: sessionId=" + session.getId() + ", " + e.getMessage());
+            sendError(session, "INVALID_MESSAGE_FORMAT");
         } catch (Exception e) {
             e.printStackTrace();
             sendError(session, "INVALID_MESSAGE_FORMAT");
         }
+    }
 
-
+    // 바이너리 서브프로토콜 프레임 (현재 클라이언트 -> 서버는 MOVE만)
+    @OnMessage
+    public void onBinary(ByteBuffer message, Session session) {
+        try {
+            if (BinaryCodec.opcodeOf(message) != BinaryCodec.OP_MOVE) {
+                sendError(session, "UNSUPPORTED_MESSAGE");
+                return;
+            }
+            handleMove(session, getRoomId(session), getUserId(session), BinaryCodec.decodeMove(message));
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            // 잘못된/잘린 프레임은 스택트레이스 없이 한 줄만
+            System.out.println("[WARN] invalid ws frame: sessionId=" + session.getId() + ", " + e);
+            sendError(session, "INVALID_MESSAGE_FORMAT");
+        } catch (Exception e) {
+            e.printStackTrace();
+            sendError(session, "INVALID_MESSAGE_FORMAT");
+        }
     }
 
     @OnClose
@@ -118,11 +145,16 @@ public class GameWebSocket {
                     roomId, userId, session.getId()
             );
 
-            roomService.onLeave(roomId, userId, session);
+            if (cluster().isRemote(roomId)) {
+                cluster().forwardLeave(roomId, userId, session);
+            } else {
+                roomService.onLeave(roomId, userId, session);
+            }
 
         } catch (Exception ignored) {
         }
 
+        SessionOutbox.release(session);
         System.out.println("[WS] 연결 종료");
     }
 
@@ -135,13 +167,35 @@ public class GameWebSocket {
 
     /// //////////////// 유틸 /////////////////////
 
-    private void sendError(Session session, String message) {
-        try {
-            session.getBasicRemote().sendText(JsonUtil.MAPPER.writeValueAsString(
-                    new WsMessage<>(
-                            MessageType.ERROR, message)));
-        } catch (IOException ignored) {
+    // 텍스트/바이너리 공통 착수 처리
+    private void handleMove(Session session, String roomId, int userId, MovePayload payload) {
+        // 관전자 착수 불가
+        if (getRole(session) == WsRole.SPECTATOR) {
+            sendError(session, "SPECTATOR_CANNOT_MOVE");
+            return;
         }
+
+        if (cluster().isRemote(roomId)) {
+            cluster().forwardMove(roomId, userId, payload.getX(), payload.getY());
+            return;
+        }
+
+        roomService.handleMove(
+                roomId,
+                userId,
+                payload.getX(),
+                payload.getY()
+        );
+    }
+
+    private ClusterManager cluster() {
+        return ClusterManager.getInstance();
+    }
+
+    private void sendError(Session session, String message) {
+        SessionOutbox.send(session, EncodedFrame.of(
+                new WsMessage<>(
+                        MessageType.ERROR, message)));
     }
 
     private String getRoomId(Session session) {
@@ -12,7 +12,7 @@ import javax.servlet.http.HttpServletResponse;
 import team.omok.omok_mini_project.domain.Room;
 import team.omok.omok_mini_project.domain.dto.RankingDTO;
 import team.omok.omok_mini_project.domain.vo.UserVO;
-import team.omok.omok_mini_project.repository.RecordDAO;
+import team.omok.omok_mini_project.service.LeaderboardService;
 import team.omok.omok_mini_project.service.RoomService;
 import team.omok.omok_mini_project.service.UserService;
 
@@ -72,25 +72,18 @@ public class LobbyServlet extends HttpServlet {
         // 빠른 입장: 가장 먼저 만들어진 대기 방에 자동 입장
         if ("/quick-enter".equals(path)) {
             System.out.println("[INFO]lobby-doGet-quick-enter");
-            // 가장 먼저 생성된 대기 방 가져오기
-            Room room = roomService.getFirstWaitingRoom();
-            if (room == null) {
-                // 대기 중인 방이 없으면 로비로 돌아감
-                response.sendRedirect("/omok/lobby");
-                return;
-            }
             try {
-                // 해당 방에 유저 입장
-                roomService.enterRoom(room.getRoomId(), user);
+                // 가장 먼저 생성된 대기 방에 자리 잡기 (조회 + 입장을 한 번에, 찼으면 다음 방 시도)
+                Room room = roomService.quickEnter(user);
+                if (room == null) {
+                    // 들어갈 수 있는 방이 없으면 로비로 돌아감
+                    response.sendRedirect("/omok/lobby");
+                    return;
+                }
 
                 // 게임 방 화면으로 이동
                 // 빠른 입장은 무조건 player로 시도
                 response.sendRedirect("/omok/room?roomId=" + room.getRoomId() + "&role=player");
-            } catch (IllegalStateException e) {
-                // 방이 가득 찬 경우 (동시성 이슈 등)
-                System.out.println("[WARN] 빠른 입장 실패 - 방이 가득 참: " + e.getMessage());
-                // 다시 로비로 이동 (혹은 다른 방 찾기 로직 추가 가능)
-                response.sendRedirect("/omok/lobby?error=full");
             } catch (Exception e) {
                 e.printStackTrace();
                 throw e; // 500 에러 원인 확인을 위해 다시 던지거나, 에러 페이지로 이동
@@ -103,8 +96,8 @@ public class LobbyServlet extends HttpServlet {
         List<Room> rooms = roomService.getLobbyRooms();
 //        List<Room> rooms = roomService.getAllRooms();
 
-        // 랭킹 정보 조회
-        List<RankingDTO> rankingList = RecordDAO.getTopRank();
+        // 랭킹 정보 조회 (메모리 랭킹)
+        List<RankingDTO> rankingList = LeaderboardService.getInstance().getTopRankings();
         // JSP에서 쓸수 있도록 request에 저장
         request.setAttribute("rankingList", rankingList); // 랭킹정보
         request.setAttribute("rooms", rooms); // room 정보
@@ -1,19 +1,23 @@
 package team.omok.omok_mini_project.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import team.omok.omok_mini_project.domain.Room;
-import team.omok.omok_mini_project.domain.dto.RankingDTO;
 import team.omok.omok_mini_project.domain.vo.UserVO;
-import team.omok.omok_mini_project.manager.RoomManager;
-import team.omok.omok_mini_project.repository.RecordDAO;
+import team.omok.omok_mini_project.manager.LobbyFeed;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
+import team.omok.omok_mini_project.service.LeaderboardService;
+import team.omok.omok_mini_project.service.MatchmakingService;
+import team.omok.omok_mini_project.service.UserProfileCache;
 import team.omok.omok_mini_project.service.UserService;
 import team.omok.omok_mini_project.util.HttpSessionConfigurator;
+import team.omok.omok_mini_project.util.SessionOutbox;
 
 import javax.websocket.*;
 import javax.websocket.server.ServerEndpoint;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 통합된 로비 WebSocket 엔드포인트
@@ -21,10 +25,11 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * 기능:
  * - 로비 접속/퇴장 처리
- * - 방 목록 실시간 업데이트
- * - 랭킹 실시간 업데이트
+ * - 방 목록 실시간 업데이트 (LobbyFeed: 접속 시 전체 목록, 이후 증분)
+ * - 랭킹 실시간 업데이트 (LeaderboardService 캐시, TOP 10이 바뀔 때만 브로드캐스트)
  * - 로비 채팅 메시지 송수신
  * - 유저 프로필 실시간 변경
+ * - 랭크 매칭 대기 등록/취소 (MatchmakingService)
  * <p>
  * URL: ws://localhost:8080/omok/ws/lobby
  */
@@ -42,8 +47,21 @@ public class LobbyWebSocket {
     // JSON 변환용 ObjectMapper
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    // RoomManager 참조 (방 목록 가져오기 위해)
-    private static final RoomManager roomManager = RoomManager.getInstance();
+    // 방 목록 피드 (전체 목록 + 증분)
+    private static final LobbyFeed lobbyFeed = LobbyFeed.getInstance();
+
+    // 메모리 랭킹 + 마지막으로 브로드캐스트한 랭킹 버전
+    private static final LeaderboardService leaderboard = LeaderboardService.getInstance();
+    private static final AtomicLong lastRankingVersion = new AtomicLong();
+
+    // 레이팅 기반 매칭 큐
+    private static final MatchmakingService matchmaking = MatchmakingService.getInstance();
+
+    // 브로드캐스트 지표
+    private static final LatencyRecorder BROADCAST_TIME = Metrics.timer("lobby.broadcast");
+    private static final LatencyRecorder BROADCAST_RECIPIENTS = Metrics.histogram("lobby.broadcast.recipients");
+    private static final LatencyRecorder BROADCAST_CHARS = Metrics.histogram("lobby.broadcast.chars");
+    private static final LatencyRecorder ENCODE_TIME = Metrics.timer("encode.json");
 
     // UserService 참조 (유저 정보 조회)
     private final UserService userService = new UserService();
@@ -51,36 +69,22 @@ public class LobbyWebSocket {
     // ========== WebSocket 생명주기 메서드 ==========
 
     /**
-     * 모든 로비 유저에게 현재 방 목록을 전송
-     * 방 생성/삭제/상태 변경 시 호출됨
-     * <p>
-     * ★ RoomManager에서 직접 호출 (createRoom, enterRoom, removeRoom 후)
+     * 모든 로비 유저에게 현재 랭킹을 전송
+     * 게임 종료 후 전적 업데이트 시 호출
+     * - TOP 10이 마지막 브로드캐스트 이후 바뀌지 않았으면 보내지 않음
+     * - 새로 접속한 세션은 onOpen에서 따로 받으므로 놓치지 않는다
      */
-    public static void broadcastRoomList() {
+    public static void broadcastRanking() {
         try {
-            // RoomManager에서 대기 중인 방 목록 가져오기
-            List<Room> waitingRooms = roomManager.getLobbyRooms();
-
-            // Room 객체에서 필요한 정보만 추출 (JSON 직렬화 문제 해결)
-            List<Map<String, Object>> roomData = new ArrayList<>();
-            for (Room room : waitingRooms) {
-                Map<String, Object> roomInfo = new HashMap<>();
-                roomInfo.put("roomId", room.getRoomId());
-                roomInfo.put("ownerId", room.getOwnerId());
-                roomInfo.put("players", room.getPlayers());  // List<Integer>
-                roomInfo.put("status", room.getStatus().toString());
-                roomData.add(roomInfo);
+            long version = leaderboard.getVersion();
+            if (lastRankingVersion.getAndSet(version) == version) {
+                return;
             }
 
-            // JSON 메시지 구성
-            Map<String, Object> message = new HashMap<>();
-            message.put("type", "ROOM_LIST");
-            message.put("rooms", roomData);
-
-            // 모든 로비 세션에게 전송
-            broadcast(message);
+            // 미리 직렬화된 랭킹 프레임을 모든 로비 세션에게 전송
+            broadcastEncoded("RANKING", leaderboard.getRankingFrame(), SessionOutbox.Priority.LATEST_ONLY);
 
-            System.out.println("[LobbyWS] 방 목록 브로드캐스트: " + waitingRooms.size() + "개");
+            System.out.println("[LobbyWS] 랭킹 브로드캐스트: version=" + version);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -88,27 +92,10 @@ public class LobbyWebSocket {
     }
 
     /**
-     * 모든 로비 유저에게 현재 랭킹을 전송
-     * 게임 종료 후 전적 업데이트 시 호출
+     * 한 세션에만 현재 랭킹 전송 (접속 시, 요청 시)
      */
-    public static void broadcastRanking() {
-        try {
-            // DB에서 TOP 10 랭킹 조회
-            List<RankingDTO> rankingList = RecordDAO.getTopRank();
-
-            // JSON 메시지 구성
-            Map<String, Object> message = new HashMap<>();
-            message.put("type", "RANKING");
-            message.put("rankings", rankingList);
-
-            // 모든 로비 세션에게 전송
-            broadcast(message);
-
-            System.out.println("[LobbyWS] 랭킹 브로드캐스트: " + rankingList.size() + "명");
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private static void sendRanking(Session session) {
+        SessionOutbox.send(session, "RANKING", leaderboard.getRankingFrame(), SessionOutbox.Priority.LATEST_ONLY);
     }
 
     /**
@@ -156,8 +143,7 @@ public class LobbyWebSocket {
 
             System.out.println("[LobbyWS] 프로필 변경 브로드캐스트: userId=" + userId);
 
-            // 랭킹도 함께 업데이트 (닉네임 변경 반영)
-            broadcastRanking();
+            // 랭킹 캐시는 클라이언트 값으로 고치지 않는다 (DB 반영 후 findRanking으로 다시 읽어야 함)
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -166,31 +152,66 @@ public class LobbyWebSocket {
 
     // ========== 브로드캐스트 메서드 (static - RoomManager에서 호출) ==========
 
+    /**
+     * 이미 직렬화된 메시지를 모든 로비 세션에게 전송 (LobbyFeed 증분 등)
+     *
+     * @param type 메시지 타입 (LATEST_ONLY 교체 기준)
+     */
+    public static void broadcastEncoded(String type, String json, SessionOutbox.Priority priority) {
+        long start = System.nanoTime();
+        int recipients = 0;
+        for (Session session : lobbySessions) {
+            SessionOutbox.send(session, type, json, priority);
+            recipients++;
+        }
+        recordBroadcast(start, recipients, json);
+    }
+
     /**
      * 모든 로비 세션에게 메시지 전송 (내부 유틸 메서드)
+     * - 한 번만 직렬화해서 세션별 비동기 송신 큐(SessionOutbox)에 넣는다.
      *
-     * @param message 전송할 객체 (Map 등)
+     * @param message 전송할 객체 (Map 등, "type" 키 필수)
      */
-    private static void broadcast(Object message) {
+    private static void broadcast(Map<String, Object> message) {
         try {
+            long start = System.nanoTime();
             String jsonMessage = objectMapper.writeValueAsString(message);
+            ENCODE_TIME.recordSince(start);
+            String type = String.valueOf(message.get("type"));
+            SessionOutbox.Priority priority = priorityOf(type);
 
+            int recipients = 0;
             for (Session session : lobbySessions) {
-                try {
-                    // 세션이 열려있는지 확인
-                    if (session.isOpen()) {
-                        session.getBasicRemote().sendText(jsonMessage);
-                    }
-                } catch (Exception e) {
-                    System.err.println("[LobbyWS] 메시지 전송 실패: " + session.getId());
-                    e.printStackTrace();
-                }
+                SessionOutbox.send(session, type, jsonMessage, priority);
+                recipients++;
             }
+            recordBroadcast(start, recipients, jsonMessage);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    // 로비 브로드캐스트 지표 (직렬화 포함 소요 시간, 받는 세션 수, 메시지 크기)
+    private static void recordBroadcast(long start, int recipients, String json) {
+        BROADCAST_TIME.recordSince(start);
+        BROADCAST_RECIPIENTS.record(recipients);
+        BROADCAST_CHARS.record(json.length());
+    }
+
+    /**
+     * 로비 메시지 송신 우선순위
+     * - RANKING: 전체 목록이라 밀려 있으면 최신 것만 보내면 됨
+     * - CHAT: 밀려 있으면 버려도 됨
+     */
+    private static SessionOutbox.Priority priorityOf(String type) {
+        return switch (type) {
+            case "RANKING" -> SessionOutbox.Priority.LATEST_ONLY;
+            case "CHAT" -> SessionOutbox.Priority.DROPPABLE;
+            default -> SessionOutbox.Priority.CRITICAL;
+        };
+    }
+
     /**
      * 현재 로비에 접속한 인원 수 반환
      */
@@ -201,7 +222,7 @@ public class LobbyWebSocket {
     /**
      * WebSocket 연결 시 호출
      * - 세션을 lobbySessions에 등록
-     * - 현재 방 목록 + 랭킹을 클라이언트에게 전송
+     * - 현재 방 목록(이 세션에만) + 랭킹을 클라이언트에게 전송
      */
     @OnOpen
     public void onOpen(Session session) throws IOException {
@@ -217,11 +238,11 @@ public class LobbyWebSocket {
                 "message", "로비 접속 성공"
         ));
 
-        // 현재 방 목록 전송 (최초 접속 시)
-        broadcastRoomList();
+        // 현재 방 목록 전송 (최초 접속 시, 이 세션에만 - 이후는 증분으로 받음)
+        lobbyFeed.sendSnapshot(session);
 
-        // 현재 랭킹 전송
-        broadcastRanking();
+        // 현재 랭킹 전송 (이 세션에만)
+        sendRanking(session);
     }
 
     /**
@@ -229,9 +250,11 @@ public class LobbyWebSocket {
      * <p>
      * 메시지 타입:
      * - CHAT: 채팅 메시지 → 모든 로비 유저에게 전송
-     * - REQUEST_ROOM_LIST: 방 목록 요청 → 방 목록 전송
+     * - REQUEST_ROOM_LIST: 방 목록 재동기화 요청 → 요청한 세션에 전체 목록 전송
      * - REQUEST_RANKING: 랭킹 요청 → 랭킹 전송
      * - UPDATE_PROFILE: 프로필 변경 → 변경 사항 브로드캐스트
+     * - MATCH_JOIN: 랭크 매칭 대기 등록 → MATCH_QUEUED, 상대가 정해지면 MATCH_FOUND {roomId}
+     * - MATCH_CANCEL: 랭크 매칭 취소 → MATCH_CANCELLED
      */
     @OnMessage
     public void onMessage(String message, Session session) {
@@ -250,13 +273,13 @@ public class LobbyWebSocket {
                     break;
 
                 case "REQUEST_ROOM_LIST":
-                    // 방 목록 요청 처리
-                    broadcastRoomList();
+                    // 방 목록 재동기화 (seq가 빈 클라이언트)
+                    lobbyFeed.sendSnapshot(session);
                     break;
 
                 case "REQUEST_RANKING":
-                    // 랭킹 요청 처리
-                    broadcastRanking();
+                    // 랭킹 요청 처리 (요청한 세션에만)
+                    sendRanking(session);
                     break;
 
                 case "UPDATE_PROFILE":
@@ -264,6 +287,16 @@ public class LobbyWebSocket {
                     handleProfileUpdate(session, data);
                     break;
 
+                case "MATCH_JOIN":
+                    // 랭크 매칭 대기 등록
+                    handleMatchJoin(session);
+                    break;
+
+                case "MATCH_CANCEL":
+                    // 랭크 매칭 취소
+                    handleMatchCancel(session);
+                    break;
+
                 default:
                     System.out.println("[LobbyWS] 알 수 없는 메시지 타입: " + type);
             }
@@ -277,11 +310,17 @@ public class LobbyWebSocket {
     /**
      * WebSocket 연결 종료 시 호출
      * - 세션을 lobbySessions에서 제거
+     * - 이 세션으로 매칭 대기 중이었으면 취소
      */
     @OnClose
     public void onClose(Session session) {
         System.out.println("[LobbyWS] 연결 종료: sessionId=" + session.getId());
         lobbySessions.remove(session);
+        Integer userId = (Integer) session.getUserProperties().get("user_id");
+        if (userId != null) {
+            matchmaking.cancel(userId, session);
+        }
+        SessionOutbox.release(session);
         System.out.println("[LobbyWS] 세션 제거 | 현재 로비 인원: " + lobbySessions.size());
     }
 
@@ -334,6 +373,34 @@ public class LobbyWebSocket {
         }
     }
 
+    /**
+     * 랭크 매칭 대기 등록
+     * - 방은 상대가 정해진 뒤에 MatchmakingService가 만든다
+     */
+    private void handleMatchJoin(Session session) {
+        Integer userId = (Integer) session.getUserProperties().get("user_id");
+
+        if (userId == null) {
+            System.err.println("[LobbyWS] 유저 정보 없음 - 로그인 필요");
+            return;
+        }
+
+        matchmaking.join(userId, session);
+    }
+
+    /**
+     * 랭크 매칭 취소
+     */
+    private void handleMatchCancel(Session session) {
+        Integer userId = (Integer) session.getUserProperties().get("user_id");
+
+        if (userId == null) {
+            return;
+        }
+
+        matchmaking.cancel(userId, session);
+    }
+
     // ========== 유틸리티 메서드 ==========
 
     /**
@@ -355,6 +422,9 @@ public class LobbyWebSocket {
             // TODO: UserService를 통해 DB 업데이트 로직 추가
             // userService.updateProfile(userId, newNickname, newProfileImg);
 
+            // 캐시된 유저 정보 제거 (다음 조회 때 DB에서 다시 읽음)
+            UserProfileCache.getInstance().invalidate(userId);
+
             // 변경 사항 브로드캐스트
             broadcastProfileUpdate(userId, newNickname, newProfileImg);
 
@@ -367,12 +437,11 @@ public class LobbyWebSocket {
     /**
      * 특정 세션에만 메시지 전송
      */
-    private void sendToSession(Session session, Object message) {
+    private void sendToSession(Session session, Map<String, Object> message) {
         try {
             String json = objectMapper.writeValueAsString(message);
-            if (session.isOpen()) {
-                session.getBasicRemote().sendText(json);
-            }
+            String type = String.valueOf(message.get("type"));
+            SessionOutbox.send(session, type, json, priorityOf(type));
         } catch (Exception e) {
             System.err.println("[LobbyWS] 세션 전송 실패: " + session.getId());
             e.printStackTrace();
@@ -0,0 +1,37 @@
+package team.omok.omok_mini_project.controller;
+
+import team.omok.omok_mini_project.metrics.Metrics;
+import team.omok.omok_mini_project.util.JsonUtil;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * 서버 지표 조회 (JSON)
+ * - 기본은 서버 자신(localhost)에서만 조회 가능, -Domok.metrics.public=true면 외부 허용
+ * - 같은 값은 JMX(team.omok:type=Metrics)로도 볼 수 있다.
+ */
+@WebServlet("/metrics")
+public class MetricsServlet extends HttpServlet {
+
+    private static final boolean PUBLIC = Boolean.getBoolean("omok.metrics.public");
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!PUBLIC && !InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        JsonUtil.MAPPER.writeValue(response.getWriter(), Metrics.snapshot());
+    }
+}
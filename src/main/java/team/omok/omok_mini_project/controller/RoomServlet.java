@@ -1,6 +1,8 @@
 package team.omok.omok_mini_project.controller;
 
+import team.omok.omok_mini_project.cluster.ClusterManager;
 import team.omok.omok_mini_project.domain.Room;
+import team.omok.omok_mini_project.manager.LobbyFeed;
 import team.omok.omok_mini_project.manager.RoomManager;
 
 import javax.servlet.ServletException;
@@ -9,6 +11,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
 
 @WebServlet("/room")
 public class RoomServlet extends HttpServlet {
@@ -25,12 +28,22 @@ public class RoomServlet extends HttpServlet {
         boolean isSpectator = request.getParameter("role").equals("spectator");
         System.out.println("[RoomServlet] " + request.getParameter("role") + ": " + request.getParameter("roomId"));
         System.out.println("[RoomServlet] isSpectator=" + isSpectator);
-        if (room == null) {
-            response.sendRedirect("/omok/lobby");
-            return;
+        Object ownerId;
+        if (room != null) {
+            ownerId = room.getOwnerId();
+        } else {
+            // 클러스터 모드: 다른 노드 방이면 로비에 합쳐둔 방 정보 사용 (게임 자체는 웹소켓으로 주인 노드가 처리)
+            Map<String, Object> view = ClusterManager.getInstance().isRemote(roomId)
+                    ? LobbyFeed.getInstance().getView(roomId) : null;
+            if (view == null) {
+                response.sendRedirect("/omok/lobby");
+                return;
+            }
+            ownerId = view.get("ownerId");
         }
 
-        request.setAttribute("room", room);
+        request.setAttribute("roomId", roomId);
+        request.setAttribute("ownerId", ownerId);
         request.setAttribute("isSpectator", isSpectator);
 
         request.getRequestDispatcher("/WEB-INF/views/room.jsp")
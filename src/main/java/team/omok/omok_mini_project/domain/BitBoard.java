@@ -0,0 +1,134 @@
+package team.omok.omok_mini_project.domain;
+
+import team.omok.omok_mini_project.enums.Stone;
+
+import java.util.Arrays;
+
+/*
+ * 15x15 보드의 비트보드 표현.
+ * - 색(흑/백)마다 225칸 비트셋(long[4]) 1개
+ * - 같은 돌을 4방향 라인 마스크(가로/세로/대각/역대각)로도 함께 유지
+ *
+ * 라인 마스크 규칙 (방향 d = (dx, dy)):
+ * - 가로 (1, 0)  : 라인 index = y,           비트 위치 = x
+ * - 세로 (0, 1)  : 라인 index = x,           비트 위치 = y
+ * - 대각 (1, 1)  : 라인 index = x - y + 14,  비트 위치 = x
+ * - 역대각(1,-1) : 라인 index = x + y,       비트 위치 = x
+ * => 라인 위에서 한 칸 전진하면 비트 위치가 1 증가한다.
+ *
+ * 승리/금수 판정은 셀 단위 getStone 대신 이 마스크를 시프트/마스크해서 처리한다.
+ */
+public final class BitBoard {
+    public static final int SIZE = GameState.SIZE;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int FULL_ROW = (1 << SIZE) - 1;
+
+    // 방향 index (OmokRule.DIRS 순서와 동일)
+    public static final int DIR_ROW = 0;
+    public static final int DIR_COL = 1;
+    public static final int DIR_DIAG = 2;
+    public static final int DIR_ANTI = 3;
+
+    private static final int BLACK = 0;
+    private static final int WHITE = 1;
+    private static final int DIAG_LINES = SIZE * 2 - 1;
+
+    // 색별 225칸 비트셋 (index = y * SIZE + x)
+    private final long[][] cells = new long[2][(CELLS + 63) >>> 6];
+
+    // 색별 라인 마스크
+    private final int[][] rows = new int[2][SIZE];
+    private final int[][] cols = new int[2][SIZE];
+    private final int[][] diags = new int[2][DIAG_LINES];
+    private final int[][] antis = new int[2][DIAG_LINES];
+
+    public void clear() {
+        for (int c = 0; c < 2; c++) {
+            Arrays.fill(cells[c], 0L);
+            Arrays.fill(rows[c], 0);
+            Arrays.fill(cols[c], 0);
+            Arrays.fill(diags[c], 0);
+            Arrays.fill(antis[c], 0);
+        }
+    }
+
+    public Stone get(int x, int y) {
+        int i = y * SIZE + x;
+        long bit = 1L << (i & 63);
+        if ((cells[BLACK][i >>> 6] & bit) != 0) return Stone.BLACK;
+        if ((cells[WHITE][i >>> 6] & bit) != 0) return Stone.WHITE;
+        return Stone.EMPTY;
+    }
+
+    public boolean isEmpty(int x, int y) {
+        int i = y * SIZE + x;
+        long bit = 1L << (i & 63);
+        return ((cells[BLACK][i >>> 6] | cells[WHITE][i >>> 6]) & bit) == 0;
+    }
+
+    public void set(int x, int y, Stone stone) {
+        // 기존 돌은 양쪽 색에서 모두 지우고 새 돌만 세팅
+        unset(BLACK, x, y);
+        unset(WHITE, x, y);
+        if (stone == Stone.BLACK) put(BLACK, x, y);
+        else if (stone == Stone.WHITE) put(WHITE, x, y);
+    }
+
+    private void put(int c, int x, int y) {
+        int i = y * SIZE + x;
+        cells[c][i >>> 6] |= 1L << (i & 63);
+        rows[c][y] |= 1 << x;
+        cols[c][x] |= 1 << y;
+        diags[c][x - y + SIZE - 1] |= 1 << x;
+        antis[c][x + y] |= 1 << x;
+    }
+
+    private void unset(int c, int x, int y) {
+        int i = y * SIZE + x;
+        cells[c][i >>> 6] &= ~(1L << (i & 63));
+        rows[c][y] &= ~(1 << x);
+        cols[c][x] &= ~(1 << y);
+        diags[c][x - y + SIZE - 1] &= ~(1 << x);
+        antis[c][x + y] &= ~(1 << x);
+    }
+
+    // (x,y)를 지나는 dir 방향 라인에서 color 돌의 마스크
+    public int lineMask(Stone color, int dir, int x, int y) {
+        int c = (color == Stone.BLACK) ? BLACK : WHITE;
+        return switch (dir) {
+            case DIR_ROW -> rows[c][y];
+            case DIR_COL -> cols[c][x];
+            case DIR_DIAG -> diags[c][x - y + SIZE - 1];
+            default -> antis[c][x + y];
+        };
+    }
+
+    // (x,y)의 dir 방향 라인 위 비트 위치
+    public static int linePos(int dir, int x, int y) {
+        return dir == DIR_COL ? y : x;
+    }
+
+    // dir 방향 라인에서 보드 안에 있는 칸 마스크 (범위 밖 = 0)
+    public static int lineBounds(int dir, int x, int y) {
+        return switch (dir) {
+            case DIR_ROW, DIR_COL -> FULL_ROW;
+            // 대각: x - y = d 인 칸들의 x 범위 [max(0,d), min(14,14+d)]
+            case DIR_DIAG -> rangeMask(Math.max(0, x - y), Math.min(SIZE - 1, SIZE - 1 + x - y));
+            // 역대각: x + y = s 인 칸들의 x 범위 [max(0,s-14), min(14,s)]
+            default -> rangeMask(Math.max(0, x + y - (SIZE - 1)), Math.min(SIZE - 1, x + y));
+        };
+    }
+
+    private static int rangeMask(int from, int to) {
+        return ((1 << (to + 1)) - 1) & ~((1 << from) - 1);
+    }
+
+    // pos 비트를 포함하는 연속된 1 비트 길이 (pos 비트가 0이면 0)
+    public static int runLength(int mask, int pos) {
+        if ((mask & (1 << pos)) == 0) return 0;
+        // pos 위쪽으로 이어지는 1의 개수 + pos 아래쪽으로 이어지는 1의 개수 + 1
+        int up = Integer.numberOfTrailingZeros(~(mask >>> (pos + 1)));
+        int down = (pos == 0) ? 0 : Integer.numberOfLeadingZeros(~(mask << (32 - pos)));
+        return up + down + 1;
+    }
+}
@@ -0,0 +1,102 @@
+package team.omok.omok_mini_project.domain;
+
+import team.omok.omok_mini_project.enums.GameStatus;
+import team.omok.omok_mini_project.enums.Stone;
+import team.omok.omok_mini_project.util.BinaryCodec;
+
+/*
+ * GameState가 착수/턴 전환/종료마다 발행하는 불변 스냅샷.
+ * - volatile 참조 하나로 공개되므로 관전자 입장, 로비, 지표 등 메일박스 밖 스레드가 락 없이 읽는다.
+ * - 보드는 이전 스냅샷 배열을 복사해서 바뀐 칸만 고친 새 배열 (copy-on-write, 발행 후에는 절대 수정 안 함)
+ * - version은 moveNumber와 같다. (같은 version이면 보드도 같음)
+ */
+public final class GameSnapshot {
+    private static final Stone[] STONES = Stone.values();
+
+    private final int version;
+    private final Stone turn;
+    private final GameStatus status;
+    private final long turnDeadlineMs;
+    private final int blackUserId;
+    private final int whiteUserId;
+    private final int winnerId;
+    private final String endReason;
+    private final byte[] cells;     // 칸별 Stone ordinal (y * SIZE + x)
+
+    // BOARD_SNAPSHOT용 압축 문자열 (처음 요청될 때 만든다, 여러 스레드가 동시에 만들어도 결과는 같음)
+    private String encodedBoard;
+
+    GameSnapshot(int version, Stone turn, GameStatus status, long turnDeadlineMs,
+                 int blackUserId, int whiteUserId, int winnerId, String endReason, byte[] cells) {
+        this.version = version;
+        this.turn = turn;
+        this.status = status;
+        this.turnDeadlineMs = turnDeadlineMs;
+        this.blackUserId = blackUserId;
+        this.whiteUserId = whiteUserId;
+        this.winnerId = winnerId;
+        this.endReason = endReason;
+        this.cells = cells;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Stone getTurn() {
+        return turn;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public long getTurnDeadlineMs() {
+        return turnDeadlineMs;
+    }
+
+    // 발행 시점의 마감 기준 남은 시간 (진행 중이 아니면 0)
+    public long getRemainingTimeMs() {
+        if (status != GameStatus.IN_PROGRESS) return 0;
+        return Math.max(0, turnDeadlineMs - System.currentTimeMillis());
+    }
+
+    public int getBlackUserId() {
+        return blackUserId;
+    }
+
+    public int getWhiteUserId() {
+        return whiteUserId;
+    }
+
+    public int getWinnerId() {
+        return winnerId;
+    }
+
+    public String getEndReason() {
+        return endReason;
+    }
+
+    public Stone getStone(int x, int y) {
+        return STONES[cells[y * GameState.SIZE + x]];
+    }
+
+    // 외부로 내보낼 때는 복사본 (내부 배열은 불변으로 유지)
+    public byte[] copyCells() {
+        return cells.clone();
+    }
+
+    // 같은 패키지(GameState)에서 다음 스냅샷을 만들 때만 원본 배열을 씀
+    byte[] cells() {
+        return cells;
+    }
+
+    public String getEncodedBoard() {
+        String encoded = encodedBoard;
+        if (encoded == null) {
+            encoded = BinaryCodec.encodeBoard(cells);
+            encodedBoard = encoded;
+        }
+        return encoded;
+    }
+}
@@ -3,21 +3,30 @@ package team.omok.omok_mini_project.domain;
 import team.omok.omok_mini_project.enums.GameStatus;
 import team.omok.omok_mini_project.enums.Stone;
 
+import team.omok.omok_mini_project.util.TimingWheel;
+
 import java.util.Arrays;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /*
  * 게임 상태 저장소(서버 authoritative).
- * - 보드(15x15)
+ * - 보드(15x15, BitBoard로 색별 비트셋 + 4방향 라인 마스크 유지)
  * - 현재 턴
+ * - 놓인 돌 개수 / 수 번호(moveNumber, 1부터)
  * - 게임 상태(진행/종료)
  * - 흑/백 유저 id (Users.user_id)
  * - 승자 id (종료 시 기록)
  *
  * 검증/승리판정/금수는 OmokRule에서만 한다.
+ *
+ * 스레드 모델:
+ * - 변경은 방의 메일박스(eventLoop) 한 스레드에서만 일어난다. (모니터 없음)
+ * - 턴 타이머 만료도 eventLoop로 넘겨서 착수와 같은 순서로 처리하고, timeoutListener로 알린다.
+ * - 다른 스레드(로비/관전 등)에서 읽는 값은 volatile로 둔다.
+ * - 착수/턴 전환/시작/종료마다 불변 GameSnapshot을 volatile 참조로 발행한다.
+ *   메일박스 밖에서 보드/턴/마감 시각을 한꺼번에 읽을 때는 getSnapshot()을 쓴다. (락 없음, 항상 한 시점의 값)
  */
 public class GameState {
     public static final int SIZE = 15;
@@ -26,29 +35,37 @@ public class GameState {
     // 턴 제한 시간
     private static final long TURN_LIMIT_MS = 30_000L;
 
-    // 전체 게임에서 공유하는 스케줄러(방/게임마다 스레드 안 늘리기)
-    private static final ScheduledExecutorService TURN_TIMER =
-            Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "omok-turn-timer");
-                t.setDaemon(true);
-                return t;
-            });
+    // 전체 게임에서 공유하는 타이밍 휠(방/게임마다 스레드 안 늘리기, 등록/취소 O(1))
+    private static final TimingWheel TURN_TIMER = TimingWheel.shared();
 
     // MoveResult 쪽에서 TIMEOUT reason으로 바꿔치기 위해 쓰는 ThreadLocal
     private static final ThreadLocal<String> REASON_OVERRIDE = new ThreadLocal<>();
-    private final Stone[][] board = new Stone[SIZE][SIZE];
-    private Stone turn;
-    private GameStatus status;
+    private final BitBoard board = new BitBoard();
+    // 흑 금수 판정용 칸별 위협 카운터 (setStone마다 증분 갱신)
+    private final ThreatTable threats = new ThreatTable(board);
+    private volatile Stone turn;
+    private volatile GameStatus status;
+    // 보드에 놓인 돌 개수 (무승부 판정용)
+    private int stoneCount;
+    // 마지막으로 확정된 수 번호 (0 = 아직 없음)
+    private volatile int moveNumber;
     // 유저 매핑 (DB Users.user_id)
-    private int blackUserId;
-    private int whiteUserId;
+    private volatile int blackUserId;
+    private volatile int whiteUserId;
     // 승자 (Users.user_id), 없으면 -1
-    private int winnerId;
+    private volatile int winnerId;
     // 타이머 상태
-    private long turnDeadlineMs;          // 현재 턴 마감 시각(epoch ms)
+    private volatile long turnDeadlineMs; // 현재 턴 마감 시각(epoch ms)
     private int turnSeq;                  // 스케줄 레이스 방지용 시퀀스
-    private ScheduledFuture<?> timeoutFuture;
-    private String endReason;
+    private TimingWheel.Timeout timeoutFuture;
+    private volatile String endReason;
+    // 상태 변경을 실행할 곳 (Room이 자기 메일박스를 넣어줌, 기본은 호출 스레드에서 바로 실행)
+    private Executor eventLoop = Runnable::run;
+    // 타이머로 시간초과 종료됐을 때 알릴 곳 (eventLoop 안에서 호출)
+    private Runnable timeoutListener;
+    // 마지막으로 발행한 스냅샷 / 다음 발행 때 쓸 보드 (돌이 바뀐 뒤 아직 발행 전이면 복사본, 아니면 null)
+    private volatile GameSnapshot snapshot;
+    private byte[] pendingCells;
     public GameState() {
         reset();
     }
@@ -63,6 +80,14 @@ public class GameState {
         return v;
     }
 
+    public void setEventLoop(Executor eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    public void setTimeoutListener(Runnable timeoutListener) {
+        this.timeoutListener = timeoutListener;
+    }
+
     public static Stone opposite(Stone s) {
         if (s == Stone.BLACK) return Stone.WHITE;
         if (s == Stone.WHITE) return Stone.BLACK;
@@ -74,11 +99,12 @@ public class GameState {
     }
 
     public void reset() {
-        for (int y = 0; y < SIZE; y++) {
-            Arrays.fill(board[y], Stone.EMPTY);
-        }
+        board.clear();
+        threats.clear();
         this.turn = Stone.BLACK;
         this.status = GameStatus.READY;
+        this.stoneCount = 0;
+        this.moveNumber = 0;
 
         this.blackUserId = NONE;
         this.whiteUserId = NONE;
@@ -88,7 +114,11 @@ public class GameState {
         this.turnSeq = 0;
         this.endReason = null;
 
-        cancelTimeoutLocked();
+        cancelTimeout();
+
+        this.pendingCells = new byte[SIZE * SIZE];
+        Arrays.fill(this.pendingCells, (byte) Stone.EMPTY.ordinal());
+        publish();
     }
 
     public boolean inBounds(int x, int y) {
@@ -96,15 +126,64 @@ public class GameState {
     }
 
     public Stone getStone(int x, int y) {
-        return board[y][x];
+        return board.get(x, y);
     }
 
     public void setStone(int x, int y, Stone stone) {
-        board[y][x] = stone;
+        boolean wasEmpty = board.isEmpty(x, y);
+        board.set(x, y, stone);
+        threats.onStoneChanged(x, y);
+
+        boolean nowEmpty = !isPlayerStone(stone);
+        if (wasEmpty && !nowEmpty) stoneCount++;
+        else if (!wasEmpty && nowEmpty) stoneCount--;
+
+        // 발행된 배열은 건드리지 않고 복사본에 반영 (다음 publish 때 공개)
+        if (pendingCells == null) {
+            pendingCells = snapshot.cells().clone();
+        }
+        pendingCells[y * SIZE + x] = (byte) stone.ordinal();
+    }
+
+    /**
+     * 검증이 끝난 착수를 보드에 확정하고 수 번호를 올린다.
+     *
+     * @return 이번 수의 번호 (1부터)
+     */
+    public int placeMove(int x, int y, Stone stone) {
+        setStone(x, y, stone);
+        return ++moveNumber;
+    }
+
+    public int getStoneCount() {
+        return stoneCount;
+    }
+
+    public boolean isBoardFull() {
+        return stoneCount == SIZE * SIZE;
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
     }
 
     public boolean isEmpty(int x, int y) {
-        return getStone(x, y) == Stone.EMPTY;
+        return board.isEmpty(x, y);
+    }
+
+    // OmokRule 전용: 라인 마스크 기반 판정에 사용
+    BitBoard getBitBoard() {
+        return board;
+    }
+
+    // OmokRule 전용: 흑 금수 조회
+    ThreatTable getThreats() {
+        return threats;
+    }
+
+    // 현재 보드의 흑 금수 칸 목록 ([x, y]) - 클라이언트 hover 표시용
+    public List<int[]> getForbiddenCells() {
+        return threats.forbiddenCells();
     }
 
     public Stone getTurn() {
@@ -122,13 +201,14 @@ public class GameState {
      * 정상 착수 후 OmokRule이 호출함
      * -> 여기서 턴을 바꾸면서 다음 턴 30초를 "자동"으로 리셋한다.
      */
-    public synchronized void switchTurn() {
+    public void switchTurn() {
         this.turn = opposite(this.turn);
 
         // 게임 진행중이면 다음 턴 타이머 재시작
         if (this.status == GameStatus.IN_PROGRESS) {
-            scheduleTurnTimeoutLocked();
+            scheduleTurnTimeout();
         }
+        publish();
     }
 
     /**
@@ -136,12 +216,12 @@ public class GameState {
      * - TIMEOUT으로 이미 종료된 게임이면, MoveResult reason을 TIMEOUT으로 바꿔치기하도록 ThreadLocal 설정
      * - 혹시 스케줄이 밀렸더라도 deadline 지난 경우 여기서 즉시 timeout 처리(안전망)
      */
-    public synchronized GameStatus getStatus() {
+    public GameStatus getStatus() {
         if (this.status == GameStatus.IN_PROGRESS) {
             long now = System.currentTimeMillis();
             if (this.turnDeadlineMs > 0 && now > this.turnDeadlineMs) {
                 // 스케줄이 늦었거나 edge 케이스일 때 즉시 timeout 처리
-                forceTimeoutLocked();
+                forceTimeout();
             }
         }
 
@@ -152,73 +232,144 @@ public class GameState {
         return status;
     }
 
-    public synchronized void startGame() {
+    public void startGame() {
         this.status = GameStatus.IN_PROGRESS;
         this.winnerId = NONE;
         this.endReason = null;
 
         // 게임 시작 = 흑 턴 시작 -> 30초 타이머 시작
-        scheduleTurnTimeoutLocked();
+        scheduleTurnTimeout();
+        publish();
     }
 
-    public synchronized void endGame() {
+    public void endGame() {
         this.status = GameStatus.FINISHED;
-        cancelTimeoutLocked();
+        cancelTimeout();
+        publish();
     }
 
     // 종료(승자 기록)
-    public synchronized void endGame(int winnerId) {
+    public void endGame(int winnerId) {
         this.status = GameStatus.FINISHED;
         this.winnerId = winnerId;
-        cancelTimeoutLocked();
+        cancelTimeout();
+        publish();
     }
 
-    public synchronized int getBlackUserId() {
+    public int getBlackUserId() {
         return blackUserId;
     }
 
-    public synchronized void setBlackUserId(int userId) {
+    public void setBlackUserId(int userId) {
         this.blackUserId = userId;
+        publish();
     }
 
-    public synchronized int getWhiteUserId() {
+    public int getWhiteUserId() {
         return whiteUserId;
     }
 
-    public synchronized void setWhiteUserId(int userId) {
+    public void setWhiteUserId(int userId) {
         this.whiteUserId = userId;
+        publish();
     }
 
-    public synchronized int getUserIdByStone(Stone stone) {
+    public int getUserIdByStone(Stone stone) {
         if (stone == Stone.BLACK) return blackUserId;
         if (stone == Stone.WHITE) return whiteUserId;
         return NONE;
     }
 
-    public synchronized int getWinnerId() {
+    public int getWinnerId() {
         return winnerId;
     }
 
+    /**
+     * 재시작 복구: 스냅샷/저널로 다시 만든 판으로 진행 중 상태를 되살린다.
+     * - eventLoop/timeoutListener는 먼저 설정해둬야 한다. (남은 시간으로 턴 타이머 재시작)
+     *
+     * @param cells       칸별 Stone ordinal (y * SIZE + x)
+     * @param remainingMs 현재 턴 남은 시간
+     */
+    public void restore(byte[] cells, Stone turn, int moveNumber, long remainingMs) {
+        cancelTimeout();
+
+        // 돌을 한꺼번에 놓고 금수 테이블은 마지막에 한 번만 다시 계산
+        board.clear();
+        int count = 0;
+        Stone[] stones = Stone.values();
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            Stone s = stones[cells[i]];
+            if (isPlayerStone(s)) {
+                board.set(i % SIZE, i / SIZE, s);
+                count++;
+            }
+        }
+        threats.rebuild();
+        this.pendingCells = cells.clone();
+
+        this.stoneCount = count;
+        this.moveNumber = moveNumber;
+        this.winnerId = NONE;
+        this.endReason = null;
+        this.turnSeq = 0;
+        setTurn(turn);
+        this.status = GameStatus.IN_PROGRESS;
+
+        scheduleTurnTimeout(Math.max(0, Math.min(remainingMs, TURN_LIMIT_MS)));
+        publish();
+    }
+
+    /// ////////////// 스냅샷 발행 ////////////////////
+
+    // 현재 상태를 불변 스냅샷으로 공개 (eventLoop에서만 호출)
+    private void publish() {
+        byte[] cells = pendingCells != null ? pendingCells : snapshot.cells();
+        pendingCells = null;
+        this.snapshot = new GameSnapshot(moveNumber, turn, status, turnDeadlineMs,
+                blackUserId, whiteUserId, winnerId, endReason, cells);
+    }
+
+    // 마지막으로 발행된 스냅샷 (어느 스레드에서나 락 없이)
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // 현재 판을 칸별 Stone ordinal 배열로 (스냅샷용, y * SIZE + x)
+    public byte[] toCells() {
+        byte[] cells = new byte[SIZE * SIZE];
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                cells[y * SIZE + x] = (byte) board.get(x, y).ordinal();
+            }
+        }
+        return cells;
+    }
+
     // 타이머 내부 로직
-    private void scheduleTurnTimeoutLocked() {
-        cancelTimeoutLocked();
+    private void scheduleTurnTimeout() {
+        scheduleTurnTimeout(TURN_LIMIT_MS);
+    }
+
+    private void scheduleTurnTimeout(long limitMs) {
+        cancelTimeout();
 
         long now = System.currentTimeMillis();
-        this.turnDeadlineMs = now + TURN_LIMIT_MS;
+        this.turnDeadlineMs = now + limitMs;
         int seqSnapshot = ++this.turnSeq;
 
-        this.timeoutFuture = TURN_TIMER.schedule(() -> {
-            synchronized (GameState.this) {
-                // 이미 게임이 끝났으면 무시
-                if (status != GameStatus.IN_PROGRESS) return;
-                // 턴이 넘어가서 seq가 바뀌었으면(늦게 실행된 타이머) 무시
-                if (turnSeq != seqSnapshot) return;
-                forceTimeoutLocked();
-            }
-        }, TURN_LIMIT_MS, TimeUnit.MILLISECONDS);
+        this.timeoutFuture = TURN_TIMER.schedule(() -> eventLoop.execute(() -> {
+            // 이미 게임이 끝났으면 무시
+            if (status != GameStatus.IN_PROGRESS) return;
+            // 턴이 넘어가서 seq가 바뀌었으면(늦게 실행된 타이머) 무시
+            if (turnSeq != seqSnapshot) return;
+            forceTimeout();
+            // 다음 착수를 기다리지 않고 바로 종료를 알림
+            if (timeoutListener != null) timeoutListener.run();
+        }), limitMs, TimeUnit.MILLISECONDS);
     }
 
-    private void forceTimeoutLocked() {
+    private void forceTimeout() {
         if (this.status != GameStatus.IN_PROGRESS) return;
 
         // 현재 턴 플레이어가 시간초과 패배
@@ -229,35 +380,38 @@ public class GameState {
         this.status = GameStatus.FINISHED;
         this.endReason = "TIMEOUT";
 
-        cancelTimeoutLocked();
+        cancelTimeout();
+        publish();
     }
 
-    private void cancelTimeoutLocked() {
+    private void cancelTimeout() {
         if (this.timeoutFuture != null) {
-            this.timeoutFuture.cancel(false);
+            this.timeoutFuture.cancel();
             this.timeoutFuture = null;
         }
     }
 
-    public synchronized long getTurnDeadlineMs() {
+    public long getTurnDeadlineMs() {
         return turnDeadlineMs;
     }
 
-    public synchronized String getEndReason() {
+    public String getEndReason() {
         return endReason;
     }
 
-    // 보드판 상태 전달(관전자 용)
-    public synchronized Stone[][] getBoard() {
+    // 보드판 상태 전달(관전자 용) - 발행된 스냅샷을 Stone[][]로 펼친 복사본
+    public Stone[][] getBoard() {
+        GameSnapshot snap = this.snapshot;
         Stone[][] copy = new Stone[SIZE][SIZE];
-        for (int i = 0; i < SIZE; i++) {
-            copy[i] = board[i].clone();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                copy[y][x] = snap.getStone(x, y);
+            }
         }
         return copy;
     }
 
-    public synchronized long getRemainingTimeMs() {
-        if (status != GameStatus.IN_PROGRESS) return 0;
-        return Math.max(0, turnDeadlineMs - System.currentTimeMillis());
+    public long getRemainingTimeMs() {
+        return snapshot.getRemainingTimeMs();
     }
 }
\ No newline at end of file
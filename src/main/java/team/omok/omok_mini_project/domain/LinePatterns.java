@@ -0,0 +1,165 @@
+package team.omok.omok_mini_project.domain;
+
+/*
+ * 금수 판정용 11칸 윈도우 패턴 테이블 (흑 기준).
+ *
+ * 윈도우: 검사 칸(중심) 기준 -5..+5 총 11칸, 중심에는 흑을 "뒀다고 가정"한다.
+ * 칸 값: 0 = 빈칸, 1 = 흑, 2 = 백/벽(막힘)
+ * 인덱스: -5번 칸부터 3진수로 누적 (3^11 = 177147 가지)
+ *
+ * 테이블 값(비트 플래그):
+ * - FIVE       : 중심을 포함한 정확히 5목
+ * - OVERLINE   : 중심을 포함한 6목 이상 (장목)
+ * - FOUR_MASK  : 중심을 포함한 4의 개수 (0~2, 한 줄 안의 쌍사 포함)
+ * - OPEN_THREE : 중심을 포함한 열린 3 (한 수 더 두면 열린 4가 되는 3)
+ *
+ * 테이블은 클래스 로딩 시 1번만 채우고, 착수 시에는 인덱스 계산 + 배열 조회만 한다.
+ * (렌주룰의 재귀 판정 - 열린 4를 만드는 자리 자체가 금수인지 - 은 하지 않는다)
+ */
+final class LinePatterns {
+    static final int WINDOW = 11;
+    static final int HALF = WINDOW / 2;
+
+    static final int FIVE = 1;
+    static final int OVERLINE = 1 << 1;
+    static final int FOUR_SHIFT = 2;
+    static final int FOUR_MASK = 3 << FOUR_SHIFT;
+    static final int OPEN_THREE = 1 << 4;
+
+    private static final int EMPTY = 0;
+    private static final int OWN = 1;
+    private static final int BLOCKED = 2;
+
+    private static final byte[] TABLE;
+
+    static {
+        int combos = 1;
+        for (int i = 0; i < WINDOW; i++) combos *= 3;
+        TABLE = new byte[combos];
+
+        int[] cells = new int[WINDOW];
+        for (int n = 0; n < combos; n++) {
+            int v = n;
+            for (int k = WINDOW - 1; k >= 0; k--) {
+                cells[k] = v % 3;
+                v /= 3;
+            }
+            // 중심이 흑이 아닌 인덱스는 encode에서 만들어지지 않음
+            if (cells[HALF] != OWN) continue;
+            TABLE[n] = (byte) classify(cells);
+        }
+    }
+
+    private LinePatterns() {
+    }
+
+    static int lookup(int index) {
+        return TABLE[index];
+    }
+
+    static int fourCount(int flags) {
+        return (flags & FOUR_MASK) >>> FOUR_SHIFT;
+    }
+
+    /*
+     * 라인 마스크에서 pos 중심 11칸 윈도우 인덱스 계산 (할당 없음)
+     * black : 흑 돌 비트
+     * open  : 보드 안 빈칸 비트
+     * 그 외(백, 라인 밖)는 막힘, 중심은 항상 흑으로 취급
+     */
+    static int encode(int black, int open, int pos) {
+        int index = 0;
+        for (int k = 0; k < WINDOW; k++) {
+            int p = pos + k - HALF;
+            int cell;
+            if (k == HALF) cell = OWN;
+            else if (p < 0 || p >= GameState.SIZE) cell = BLOCKED;
+            else if ((black & (1 << p)) != 0) cell = OWN;
+            else if ((open & (1 << p)) != 0) cell = EMPTY;
+            else cell = BLOCKED;
+            index = index * 3 + cell;
+        }
+        return index;
+    }
+
+    // 테이블 생성 전용 - 중심에 흑이 있는 윈도우 하나를 분류
+    private static int classify(int[] cells) {
+        int run = runThroughCenter(cells);
+        if (run == 5) return FIVE;
+        if (run > 5) return OVERLINE;
+
+        int fours = countFours(cells);
+        if (fours > 0) return Math.min(fours, 2) << FOUR_SHIFT;
+
+        return isOpenThree(cells) ? OPEN_THREE : 0;
+    }
+
+    // 중심을 포함하는 연속 흑 길이
+    private static int runThroughCenter(int[] cells) {
+        int lo = HALF, hi = HALF;
+        while (lo > 0 && cells[lo - 1] == OWN) lo--;
+        while (hi < WINDOW - 1 && cells[hi + 1] == OWN) hi++;
+        return hi - lo + 1;
+    }
+
+    /*
+     * 중심을 포함한 4의 개수
+     * - 빈칸 하나를 채워서 "중심 포함 정확히 5목"이 되면 그 칸은 4의 완성점
+     * - 완성점이 같은 흑 4개를 쓰면 같은 4로 본다 (.BBBB. 는 완성점 2개지만 4는 1개)
+     */
+    private static int countFours(int[] cells) {
+        int first = -1;
+        int count = 0;
+        for (int e = 0; e < WINDOW; e++) {
+            int stones = completionStones(cells, e);
+            if (stones < 0) continue;
+            if (count == 0) {
+                first = stones;
+                count = 1;
+            } else if (stones != first) {
+                return 2;
+            }
+        }
+        return count;
+    }
+
+    // 빈칸 e를 채웠을 때 중심 포함 정확히 5목이면 그 5목에 쓰인 기존 흑 위치 비트, 아니면 -1
+    private static int completionStones(int[] cells, int e) {
+        if (cells[e] != EMPTY) return -1;
+        cells[e] = OWN;
+        int lo = HALF, hi = HALF;
+        while (lo > 0 && cells[lo - 1] == OWN) lo--;
+        while (hi < WINDOW - 1 && cells[hi + 1] == OWN) hi++;
+        cells[e] = EMPTY;
+
+        if (hi - lo + 1 != 5 || e < lo || e > hi) return -1;
+        int stones = 0;
+        for (int k = lo; k <= hi; k++) {
+            if (k != e) stones |= 1 << k;
+        }
+        return stones;
+    }
+
+    // 빈칸 하나를 더 채워서 열린 4(완성점 2개가 같은 흑 4개를 쓰는 4)를 만들 수 있으면 열린 3
+    private static boolean isOpenThree(int[] cells) {
+        for (int e = 0; e < WINDOW; e++) {
+            if (cells[e] != EMPTY) continue;
+            cells[e] = OWN;
+            boolean straightFour = runThroughCenter(cells) < 5 && isStraightFour(cells);
+            cells[e] = EMPTY;
+            if (straightFour) return true;
+        }
+        return false;
+    }
+
+    private static boolean isStraightFour(int[] cells) {
+        int first = -1;
+        for (int e = 0; e < WINDOW; e++) {
+            int stones = completionStones(cells, e);
+            if (stones < 0) continue;
+            if (first < 0) first = stones;
+            else if (stones == first) return true;
+        }
+        return false;
+    }
+}
@@ -5,6 +5,7 @@ import team.omok.omok_mini_project.enums.GameResultType;
 /* 한 수(착수) 처리 결과.
  - type: 결과 타입 (MOVE_OK / INVALID_TURN / INVALID_POSITION / WIN / DRAW)
  - x, y: 착수 좌표 (좌표가 의미 없으면 -1)
+ - moveNumber: 확정된 수 번호 (MOVE_OK / WIN / DRAW일 때만, 그 외 -1)
  - winnerId: WIN일 때만 유효, 그 외 -1
  - reason: 실패/종료 사유(없으면 null)
  */
@@ -18,6 +19,7 @@ public class MoveResult {
     // 착수 정보
     private final int x;
     private final int y;
+    private final int moveNumber;
 
     // 승자 (WIN일 때만)
     private final int winnerId;
@@ -25,7 +27,7 @@ public class MoveResult {
     // 실패/종료 사유
     private final String reason;
 
-    private MoveResult(GameResultType type, int x, int y, int winnerId, String reason) {
+    private MoveResult(GameResultType type, int x, int y, int moveNumber, int winnerId, String reason) {
         if (type == null) {
             throw new IllegalArgumentException("type must not be null");
         }
@@ -41,6 +43,7 @@ public class MoveResult {
         this.type = type;
         this.x = x;
         this.y = y;
+        this.moveNumber = moveNumber;
         this.winnerId = winnerId;
         this.reason = reason;
     }
@@ -48,8 +51,8 @@ public class MoveResult {
     // Factory methods
 
     // 정상 착수
-    public static MoveResult moveOk(int x, int y) {
-        return new MoveResult(GameResultType.MOVE_OK, x, y, NONE, null);
+    public static MoveResult moveOk(int x, int y, int moveNumber) {
+        return new MoveResult(GameResultType.MOVE_OK, x, y, moveNumber, NONE, null);
     }
 
     // 턴 아님
@@ -58,23 +61,22 @@ public class MoveResult {
         if (override != null) {
             reason = override; // TIMEOUT
         }
-        return new MoveResult(GameResultType.INVALID_TURN, NONE, NONE, NONE, reason);
+        return new MoveResult(GameResultType.INVALID_TURN, NONE, NONE, NONE, NONE, reason);
     }
 
     // 범위 밖 / 이미 둔 자리
     public static MoveResult invalidPosition(String reason) {
-        return new MoveResult(GameResultType.INVALID_POSITION, NONE, NONE, NONE, reason);
+        return new MoveResult(GameResultType.INVALID_POSITION, NONE, NONE, NONE, NONE, reason);
     }
 
     // 승리
-    public static MoveResult win(int x, int y, int winnerId) {
-        return new MoveResult(GameResultType.WIN, x, y, winnerId, null);
+    public static MoveResult win(int x, int y, int winnerId, int moveNumber) {
+        return new MoveResult(GameResultType.WIN, x, y, moveNumber, winnerId, null);
     }
 
-    // 무승부(선택)
-    public static MoveResult draw(String reason) {
-        String msg = (reason == null || reason.isBlank()) ? "draw" : reason;
-        return new MoveResult(GameResultType.DRAW, NONE, NONE, NONE, msg);
+    // 무승부 (마지막 돌로 보드가 꽉 참)
+    public static MoveResult draw(int x, int y, int moveNumber) {
+        return new MoveResult(GameResultType.DRAW, x, y, moveNumber, NONE, "DRAW");
     }
 
     // Getters
@@ -90,6 +92,10 @@ public class MoveResult {
         return y;
     }
 
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
     public int getWinnerId() {
         return winnerId;
     }
@@ -103,6 +109,7 @@ public class MoveResult {
         return "MoveResult{type=" + type +
                 ", x=" + x +
                 ", y=" + y +
+                ", moveNumber=" + moveNumber +
                 ", winnerId=" + winnerId +
                 ", reason='" + reason + '\'' +
                 '}';
@@ -2,19 +2,35 @@ package team.omok.omok_mini_project.domain;
 
 import lombok.Data;
 import team.omok.omok_mini_project.domain.dto.WsMessage;
+import team.omok.omok_mini_project.domain.vo.GameResultVO;
+import team.omok.omok_mini_project.domain.vo.RoomSnapshotVO;
 import team.omok.omok_mini_project.domain.vo.UserVO;
 import team.omok.omok_mini_project.enums.JoinResult;
 import team.omok.omok_mini_project.enums.LeaveResult;
 import team.omok.omok_mini_project.enums.MessageType;
 import team.omok.omok_mini_project.enums.RoomStatus;
+import team.omok.omok_mini_project.enums.GameResultType;
+import team.omok.omok_mini_project.enums.Stone;
 import team.omok.omok_mini_project.manager.RoomManager;
-import team.omok.omok_mini_project.repository.RecordDAO;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
+import team.omok.omok_mini_project.repository.MoveJournal;
+import team.omok.omok_mini_project.service.RatingWriter;
 import team.omok.omok_mini_project.service.RoomBroadcaster;
 import team.omok.omok_mini_project.service.UserService;
+import team.omok.omok_mini_project.util.FrameWriters;
+import team.omok.omok_mini_project.util.SerialExecutor;
+import team.omok.omok_mini_project.util.SpectatorFanout;
+import team.omok.omok_mini_project.util.TimingWheel;
 
 import javax.websocket.Session;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /*
  * Room (도메인 엔티티)
@@ -23,40 +39,125 @@ import java.util.concurrent.ConcurrentHashMap;
  * - 게임 시작 조건
  * - 게임 로직 실행
  * - 게임 상태 전이
- * - Session, WebSocket, JSON, Thread 없음
+ * - Session, WebSocket, JSON, Thread 없음 (카운트다운/턴 타이머는 공유 타이밍 휠 사용)
+ *
+ * 스레드 모델 (방 단위 액터):
+ * - 상태를 바꾸는 메서드는 전부 이 방의 메일박스(execute/invoke) 안에서만 호출한다.
+ * - 그래서 synchronized 없이 착수/입장/퇴장/채팅/타이머 이벤트가 한 줄로 처리된다.
+ * - 로비 등 외부 스레드는 players(COW 리스트), status(volatile)만 락 없이 읽는다.
  */
 @Data
 public class Room {
     private static final int MAX_PLAYER = 2;
+    private static final int COUNTDOWN_SEC = 5;
+    // 카운트다운은 방마다 스레드를 만들지 않고 공유 타이밍 휠로 1초씩 진행
+    private static final TimingWheel COUNTDOWN_TIMER = TimingWheel.shared();
+    // 진행 중인 카운트다운 수 (전체 방)
+    private static final AtomicInteger ACTIVE_COUNTDOWNS = new AtomicInteger();
+    // 게임 이벤트 기록 (큐에 넣기만 함, 파일 쓰기는 저널 스레드)
+    private static final MoveJournal JOURNAL = MoveJournal.getInstance();
+    // 착수 판정(OmokRule.placeStone) 소요 시간
+    private static final LatencyRecorder PLACE_STONE_TIME = Metrics.timer("rule.placeStone");
     private final String roomId;
     private final int ownerId;
     private final long createdAt;                   // 방 생성 시간
-    private final RecordDAO recordDAO = new RecordDAO();
     // 플레이어(user_id 저장 -> HTTP로 /enter 통해 들어오는 플레이어 아이디 저장 필요)
-    private final List<Integer> players = new ArrayList<>(MAX_PLAYER);
+    private final List<Integer> players = new CopyOnWriteArrayList<>();
     // 플레이어 세션 (userId -> session)
     private final Map<Integer, Session> playerSessionMap = new ConcurrentHashMap<>();
     // 관전자 세션
     private final Set<Session> spectatorSessions = ConcurrentHashMap.newKeySet();
+    // 관전자 전송 샤드 (spectatorSessions와 같이 추가/제거)
+    private final SpectatorFanout spectatorFanout = new SpectatorFanout();
+    // 방 이벤트 메일박스 (공유 스레드풀 위에서 한 번에 하나씩 실행)
+    private final SerialExecutor mailbox = new SerialExecutor();
     UserService userService = new UserService();
     // 방 상태: WAITING, READY, COUNTDOWN, PLAYING, END
-    private RoomStatus status = RoomStatus.WAIT;
+    private volatile RoomStatus status = RoomStatus.WAIT;
 
     // 게임
     private Game game;
 
+    // 턴 시간초과로 게임이 끝났을 때 처리 (RoomService가 등록, 메일박스에서 호출)
+    private Consumer<Room> turnTimeoutHandler;
+
+    // 카운트다운 상태 (메일박스에서만 접근)
+    private TimingWheel.Timeout countdownTimer;
+    private boolean countdownActive;
+    private int countdownSec;
+    private int countdownSeq;     // 취소 후 늦게 도착한 tick 무시용
+
     public Room(String roomId, int ownerId) {
+        this(roomId, ownerId, System.currentTimeMillis());
+    }
+
+    private Room(String roomId, int ownerId, long createdAt) {
         this.roomId = roomId;
         this.ownerId = ownerId;
         this.players.add(ownerId);              // 방장은 자동 입장
-        this.createdAt = System.currentTimeMillis();
+        this.createdAt = createdAt;
+    }
+
+    // 랭크 매칭용: 두 명이 앉은 상태로 생성 (등록 전이라 다른 사람이 자리를 가로챌 틈이 없음)
+    public static Room withPlayers(String roomId, int ownerId, int secondId) {
+        Room room = new Room(roomId, ownerId);
+        room.players.add(secondId);
+        return room;
+    }
+
+    /**
+     * 재시작 복구: 스냅샷(+저널 재생)으로 진행 중인 방을 다시 만든다.
+     * - 세션은 없는 상태로 PLAYING, 플레이어가 다시 접속하면 addSession으로 자리에 붙는다.
+     * - 턴 타이머는 남은 시간으로 다시 시작 (turnTimeoutHandler는 호출한 쪽이 등록)
+     */
+    public static Room restore(RoomSnapshotVO snapshot) {
+        Room room = new Room(snapshot.getRoomId(), snapshot.getBlackUserId(), snapshot.getCreatedAt());
+        room.players.add(snapshot.getWhiteUserId());
+
+        room.game = new Game(snapshot.getBlackUserId(), snapshot.getWhiteUserId());
+        room.attachGame();
+        room.game.state.restore(snapshot.getCells(), snapshot.getTurn(),
+                snapshot.getMoveNumber(), snapshot.getRemainingMs());
+        room.status = RoomStatus.PLAYING;
+        return room;
+    }
+
+    /**
+     * 복구용 스냅샷 (메일박스에서 호출)
+     *
+     * @return 게임 진행 중이 아니면 null
+     */
+    public RoomSnapshotVO snapshot() {
+        if (this.status != RoomStatus.PLAYING || this.game == null) {
+            return null;
+        }
+        GameSnapshot snap = this.game.state.getSnapshot();
+        return new RoomSnapshotVO(roomId, createdAt, snap.getBlackUserId(), snap.getWhiteUserId(),
+                snap.getTurn(), snap.getVersion(), snap.getRemainingTimeMs(), snap.copyCells());
+    }
+
+    /// /////////// 메일박스 ///////////////
+
+    // 방 이벤트 큐에 작업 추가 (비동기)
+    public void execute(Runnable task) {
+        mailbox.execute(task);
+    }
+
+    // 방 이벤트 큐에서 작업을 실행하고 결과를 기다림 (서블릿 등 외부 스레드용)
+    public <T> T invoke(Callable<T> task) {
+        return mailbox.invoke(task);
     }
 
     /// /////////// 상태 전이 ///////////////
 
-    private synchronized void updateStatus(RoomStatus newStatus) {
+    private void updateStatus(RoomStatus newStatus) {
         if (this.status == newStatus) return;
+        // 카운트다운 중에 다른 상태로 가면(플레이어 퇴장 등) 카운트다운 취소
+        if (this.status == RoomStatus.COUNTDOWN) {
+            stopCountdown();
+        }
         this.status = newStatus;
+        notifyChanged();
 
         // 상태별 트리거
         switch (newStatus) {
@@ -77,7 +178,7 @@ public class Room {
     /**
      * 기본값은 "플레이어로 시도" (players에 없으면 관전자로 들어감)
      */
-    public synchronized void addSession(int userId, Session session) {
+    public void addSession(int userId, Session session) {
         addSession(userId, session, true);
     }
 
@@ -86,7 +187,7 @@ public class Room {
      *
      * @param isSpectator true면 무조건 관전자로 등록
      */
-    public synchronized JoinResult addSession(int userId, Session session, boolean isSpectator) {
+    public JoinResult addSession(int userId, Session session, boolean isSpectator) {
         System.out.println("[INFO] Room-addSession: roomId=" + roomId
                 + ", userId=" + userId
                 + ", sessionId=" + session.getId()
@@ -95,7 +196,7 @@ public class Room {
         try {
             // 1) 관전자면 관전자 세션으로만 등록
             if (isSpectator) {
-                this.spectatorSessions.add(session);
+                addSpectator(session);
                 return JoinResult.SPECTATOR_JOINED;
             }
 
@@ -107,7 +208,7 @@ public class Room {
 
             } else {
                 // players에 없는 유저는 관전자로 처리(권한 안전)
-                this.spectatorSessions.add(session);
+                addSpectator(session);
                 return JoinResult.SPECTATOR_JOINED;
             }
 
@@ -129,13 +230,15 @@ public class Room {
      * - 관전자는 players를 건드리면 안 됨
      * - 플레이어 세션일 때만 players.remove 및 게임 종료 로직을 탄다
      */
-    public synchronized LeaveResult removeSession(int userId, Session session) {
+    public LeaveResult removeSession(int userId, Session session) {
 
         boolean wasPlayer = this.playerSessionMap.containsKey(userId);
 
         // 세션 제거
         this.playerSessionMap.remove(userId);
-        this.spectatorSessions.remove(session);
+        if (this.spectatorSessions.remove(session)) {
+            this.spectatorFanout.remove(session);
+        }
 
         // 관전자였다면 여기서 종료 (게임 상태 영향 X)
         if (!wasPlayer) {
@@ -144,6 +247,7 @@ public class Room {
 
         // 플레이어였던 경우만 players에서도 제거
         this.players.remove(Integer.valueOf(userId));
+        notifyChanged();
 
         // 게임 도중 방 나간 경우
         if (!isReady() && this.status == RoomStatus.PLAYING) {
@@ -169,66 +273,121 @@ public class Room {
         return LeaveResult.SPECTATOR_LEFT;
     }
 
-    public synchronized void tryAddPlayer(int userId) {
+    public void tryAddPlayer(int userId) {
         if (isFull()) {
             throw new IllegalStateException("방이 가득 찼습니다");
         }
         this.players.add(userId);
+        notifyChanged();
+    }
+
+    /**
+     * 빠른 입장용 자리 잡기 (메일박스에서 호출)
+     * - 예외 대신 결과로 알려줘서 RoomManager가 다음 방으로 넘어갈 수 있게 한다.
+     *
+     * @return 자리를 잡았으면 true (가득 찼거나, 끝났거나, 이미 플레이어면 false)
+     */
+    public boolean tryClaimSeat(int userId) {
+        if (isFull() || this.status == RoomStatus.END || this.players.contains(userId)) {
+            return false;
+        }
+        this.players.add(userId);
+        notifyChanged();
+        return true;
+    }
+
+    public void addSpectatorSession(Session session) {
+        addSpectator(session);
+    }
+
+    private void addSpectator(Session session) {
+        if (this.spectatorSessions.add(session)) {
+            this.spectatorFanout.add(session);
+        }
     }
 
-    public synchronized void addSpectatorSession(Session session) {
-        this.spectatorSessions.add(session);
+    public boolean isSpectator(Session session) {
+        return this.spectatorSessions.contains(session);
     }
 
 
     /// /////////// 게임 흐름 제어 ///////////////
 
-    public synchronized void tryStartGame() {
+    public void tryStartGame() {
         if (this.status != RoomStatus.READY) {
             return;
         }
         updateStatus(RoomStatus.COUNTDOWN);
     }
 
-    // 게임 시작 전 카운트다운
+    // 게임 시작 전 카운트다운 (5초, 매 초 COUNTDOWN 전송)
     private void startCountdown() {
         System.out.println("[INFO]Room-startCountdown");
 
-        new Thread(() -> {
-            try {
-                RoomBroadcaster broadcaster = new RoomBroadcaster();
-                for (int i = 5; i >= 1; i--) {
-                    if (this.status != RoomStatus.COUNTDOWN) {
-                        return;
-                    }
+        stopCountdown();
+        this.countdownSec = COUNTDOWN_SEC;
+        this.countdownSeq++;
+        this.countdownActive = true;
+        ACTIVE_COUNTDOWNS.incrementAndGet();
+        // 첫 tick은 지금, 이후는 타이머가 메일박스로 넘겨줌
+        countdownTick(this.countdownSeq);
+    }
 
-                    broadcaster.broadcastAll(this, new WsMessage<>(
-                            MessageType.COUNTDOWN,
-                            Map.of("sec", i)
-                    ));
+    private void countdownTick(int seq) {
+        // 취소됐거나 새 카운트다운이 시작된 뒤의 tick
+        if (seq != this.countdownSeq || !this.countdownActive) {
+            return;
+        }
+        if (this.status != RoomStatus.COUNTDOWN) {
+            stopCountdown();
+            return;
+        }
 
-                    Thread.sleep(1000);
-                }
+        if (this.countdownSec == 0) {
+            stopCountdown();
+            // 게임 시작
+            if (isReady()) {
+                updateStatus(RoomStatus.PLAYING);
+            }
+            return;
+        }
 
-                // 게임 시작
-                if (isReady()) {
-                    updateStatus(RoomStatus.PLAYING);
-                }
+        new RoomBroadcaster().broadcastAll(this, FrameWriters.countdown(this.countdownSec));
+        this.countdownSec--;
 
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        this.countdownTimer = COUNTDOWN_TIMER.schedule(
+                () -> execute(() -> countdownTick(seq)),
+                1, TimeUnit.SECONDS);
+    }
+
+    // 진행 중인 카운트다운 취소 (없으면 아무것도 안 함)
+    private void stopCountdown() {
+        if (!this.countdownActive) {
+            return;
+        }
+        if (this.countdownTimer != null) {
+            this.countdownTimer.cancel();
+            this.countdownTimer = null;
+        }
+        this.countdownActive = false;
+        ACTIVE_COUNTDOWNS.decrementAndGet();
+    }
+
+    // 현재 진행 중인 카운트다운 수 (모니터링용)
+    public static int getActiveCountdowns() {
+        return ACTIVE_COUNTDOWNS.get();
     }
 
     // 게임 시작 함수
-    private synchronized void startGame() {
+    private void startGame() {
         System.out.println("플레이어: " + players + " / 플레이어 세션: " + playerSessionMap);
         if (!isReady()) return;
 
         // 게임 초기화
         this.game = new Game(players.get(0), players.get(1));
+        attachGame();
         this.game.startGame();
+        JOURNAL.gameStarted(roomId, game.state.getBlackUserId(), game.state.getWhiteUserId());
         System.out.println("게임시작");
 
         RoomBroadcaster broadcaster = new RoomBroadcaster();
@@ -266,40 +425,91 @@ public class Room {
         broadcaster.broadcastToSpectators(this, spectatorMsg);
     }
 
+    // 턴 타이머 만료도 이 방 메일박스에서 처리
+    private void attachGame() {
+        this.game.state.setEventLoop(mailbox);
+        this.game.state.setTimeoutListener(() -> {
+            // 이미 끝난 방(퇴장 등)에 늦게 도착한 만료는 기록하지 않음 (GAME_END 뒤 TIMEOUT 방지)
+            if (this.status == RoomStatus.PLAYING) {
+                JOURNAL.timedOut(roomId, game.state.getWinnerId());
+                if (turnTimeoutHandler != null) {
+                    turnTimeoutHandler.accept(this);
+                }
+            }
+        });
+    }
+
     // 게임 종료 함수
-    public synchronized void endGame() {
+    public void endGame() {
+        // 게임 상태도 끝내서 턴 타이머를 해제 (게임 도중 퇴장이면 아직 IN_PROGRESS)
+        // - state.getStatus()는 시간초과 처리/사유 덮어쓰기 부작용이 있어 OmokRule 전용, 여기선 부르지 않음
+        // - state.endGame()은 여러 번 불려도 안전
+        if (this.game != null) {
+            this.game.state.endGame();
+        }
+
         // 게임 상태에서 승자 ID 가져오기
-        int winnerId = this.game.state.getWinnerId();
+        int winnerId = this.game == null ? -1 : this.game.state.getWinnerId();
 
-        // 승자가 있을 경우 (무승부가 아님) DB 업데이트
+        // 승자가 있을 경우 (무승부가 아님) 전적 반영 요청
+        // - DB 반영은 RatingWriter가 모아서 처리 (방 스레드는 기다리지 않음)
+        // - 같은 방 ID는 한 번만 반영되므로 중복 호출돼도 안전
         if (winnerId != -1) {
+            int loserId = -1;
             for (Integer playerId : players) {
-                boolean isWin = (playerId == winnerId);
-                // DAO 호출: 이긴 사람은 true, 진 사람은 false 전달
-                recordDAO.updateRating(playerId, isWin);
+                if (playerId != winnerId) {
+                    loserId = playerId;
+                }
             }
+            RatingWriter.getInstance().submit(
+                    new GameResultVO(roomId, winnerId, loserId, System.currentTimeMillis()));
         }
 
+        JOURNAL.gameEnded(roomId, winnerId);
         updateStatus(RoomStatus.END);
     }
 
+    // 인원/상태 변경을 RoomManager에 알림 (로비 목록 갱신)
+    private void notifyChanged() {
+        RoomManager.getInstance().roomChanged(this);
+    }
+
     // 게임 방 정리
-    private synchronized void cleanUp() {
+    private void cleanUp() {
         RoomManager.getInstance().removeRoom(roomId);
     }
 
-    public synchronized MoveResult handleMove(int userId, int x, int y) {
+    public MoveResult handleMove(int userId, int x, int y) {
         if (this.status != RoomStatus.PLAYING) {
             return null;
         }
 
-        return this.game.rule.placeStone(this.game.state, x, y);
+        GameState state = this.game.state;
+        Stone color = state.getTurn();
+        long start = System.nanoTime();
+        MoveResult result = this.game.rule.placeStone(state, x, y);
+        PLACE_STONE_TIME.recordSince(start);
+
+        // 보드에 돌이 놓인 경우만 기록 (무승부도 마지막 돌은 놓임)
+        GameResultType type = result.getType();
+        if (type == GameResultType.MOVE_OK || type == GameResultType.WIN || type == GameResultType.DRAW) {
+            JOURNAL.moved(roomId, state.getMoveNumber(), x, y, color, userId);
+        }
+        return result;
+    }
+
+    // 현재 보드의 흑 금수 칸 목록 (게임 전이면 빈 목록)
+    public List<int[]> getForbiddenCells() {
+        if (this.game == null) {
+            return List.of();
+        }
+        return this.game.state.getForbiddenCells();
     }
 
 
     /// /////////// 유틸 ///////////////
 
-    public synchronized boolean isFull() {
+    public boolean isFull() {
         return this.players.size() >= MAX_PLAYER;
     }
 
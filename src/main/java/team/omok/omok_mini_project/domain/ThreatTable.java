@@ -0,0 +1,122 @@
+package team.omok.omok_mini_project.domain;
+
+import team.omok.omok_mini_project.enums.Stone;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * 흑 금수(3-3, 4-4, 장목) 판정용 칸별 위협 테이블.
+ *
+ * - 칸마다, 방향마다 "흑이 여기 두면 생기는 패턴"(LinePatterns 플래그)을 저장
+ * - 그 합계(5목/장목 방향 수, 4 개수, 열린 3 개수)를 칸별 카운터로 유지
+ * - 돌이 놓이거나 빠지면(GameState.setStone) 그 돌을 지나는 4방향 ±5칸만 다시 계산
+ *
+ * => 금수 여부 조회는 카운터 몇 개 비교(O(1)), 갱신 비용은 착수당 최대 44칸 x 1방향.
+ */
+final class ThreatTable {
+    private static final int SIZE = GameState.SIZE;
+    private static final int[][] DIRS = {
+            {1, 0}, {0, 1}, {1, 1}, {1, -1}
+    };
+
+    // [방향][y * SIZE + x] -> LinePatterns 플래그
+    private final byte[][] flags = new byte[DIRS.length][SIZE * SIZE];
+
+    // 칸별 카운터
+    private final byte[] fives = new byte[SIZE * SIZE];
+    private final byte[] overlines = new byte[SIZE * SIZE];
+    private final byte[] fours = new byte[SIZE * SIZE];
+    private final byte[] threes = new byte[SIZE * SIZE];
+
+    private final BitBoard board;
+
+    ThreatTable(BitBoard board) {
+        this.board = board;
+    }
+
+    // 전체 다시 계산 (게임 리셋 시)
+    void rebuild() {
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int cell = y * SIZE + x;
+                fives[cell] = overlines[cell] = fours[cell] = threes[cell] = 0;
+                for (int dir = 0; dir < DIRS.length; dir++) {
+                    flags[dir][cell] = 0;
+                    refresh(dir, x, y);
+                }
+            }
+        }
+    }
+
+    // 빈 판 기준으로 초기화 (빈 판은 모든 칸의 패턴/카운터가 0이라 rebuild 없이 0으로 채움)
+    void clear() {
+        for (byte[] f : flags) {
+            Arrays.fill(f, (byte) 0);
+        }
+        Arrays.fill(fives, (byte) 0);
+        Arrays.fill(overlines, (byte) 0);
+        Arrays.fill(fours, (byte) 0);
+        Arrays.fill(threes, (byte) 0);
+    }
+
+    // (x,y)의 돌이 바뀐 뒤 호출: 영향받는 칸(4방향 ±5)만 갱신
+    void onStoneChanged(int x, int y) {
+        for (int dir = 0; dir < DIRS.length; dir++) {
+            int dx = DIRS[dir][0], dy = DIRS[dir][1];
+            for (int k = -LinePatterns.HALF; k <= LinePatterns.HALF; k++) {
+                int cx = x + dx * k, cy = y + dy * k;
+                if (cx < 0 || cx >= SIZE || cy < 0 || cy >= SIZE) continue;
+                refresh(dir, cx, cy);
+            }
+        }
+    }
+
+    private void refresh(int dir, int x, int y) {
+        int cell = y * SIZE + x;
+        int black = board.lineMask(Stone.BLACK, dir, x, y);
+        int open = BitBoard.lineBounds(dir, x, y) & ~black & ~board.lineMask(Stone.WHITE, dir, x, y);
+        int next = LinePatterns.lookup(LinePatterns.encode(black, open, BitBoard.linePos(dir, x, y)));
+        int prev = flags[dir][cell];
+        if (prev == next) return;
+
+        apply(cell, prev, -1);
+        apply(cell, next, 1);
+        flags[dir][cell] = (byte) next;
+    }
+
+    private void apply(int cell, int f, int sign) {
+        if ((f & LinePatterns.FIVE) != 0) fives[cell] += sign;
+        if ((f & LinePatterns.OVERLINE) != 0) overlines[cell] += sign;
+        if ((f & LinePatterns.OPEN_THREE) != 0) threes[cell] += sign;
+        fours[cell] += sign * LinePatterns.fourCount(f);
+    }
+
+    /*
+     * 흑이 (x,y)에 둘 때의 금수 사유, 금수가 아니면 null
+     * - 정확히 5목이 되는 자리는 다른 조건과 관계없이 허용(승리)
+     */
+    String forbiddenReason(int x, int y) {
+        if (!board.isEmpty(x, y)) return null;
+        int cell = y * SIZE + x;
+        if (fives[cell] > 0) return null;
+        if (overlines[cell] > 0) return "FORBIDDEN_OVERLINE";
+        if (fours[cell] >= 2) return "FORBIDDEN_DOUBLE_FOUR";
+        if (threes[cell] >= 2) return "FORBIDDEN_DOUBLE_THREE";
+        return null;
+    }
+
+    // 현재 보드에서 흑 금수 칸 전체 ([x, y] 목록)
+    List<int[]> forbiddenCells() {
+        List<int[]> cells = new ArrayList<>();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                if (forbiddenReason(x, y) != null) {
+                    cells.add(new int[]{x, y});
+                }
+            }
+        }
+        return cells;
+    }
+}
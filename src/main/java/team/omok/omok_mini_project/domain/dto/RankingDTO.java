@@ -5,6 +5,7 @@ import lombok.Data;
 @Data
 public class RankingDTO {
     private int rank;
+    private int userId;
     private String nickname;
     private int rating;
     private String profileImg;
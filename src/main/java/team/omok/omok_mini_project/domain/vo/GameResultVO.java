@@ -0,0 +1,16 @@
+package team.omok.omok_mini_project.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 끝난 게임 1판의 전적 반영 요청 (RatingWriter 큐에 들어감)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameResultVO {
+    private String gameId;      // 방 ID (방 1개 = 게임 1판)
+    private int winnerId;
+    private int loserId;        // 패자가 이미 나갔으면 -1
+    private long endedAt;
+}
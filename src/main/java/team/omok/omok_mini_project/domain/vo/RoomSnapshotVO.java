@@ -0,0 +1,21 @@
+package team.omok.omok_mini_project.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import team.omok.omok_mini_project.enums.Stone;
+
+// 진행 중인 방 1개의 복구용 스냅샷 (RoomSnapshotStore가 파일로 저장, 재시작 시 저널로 이어서 재생)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomSnapshotVO {
+    private String roomId;
+    private long createdAt;
+    private int blackUserId;    // 방장(players[0])이 흑
+    private int whiteUserId;
+    private Stone turn;
+    private int moveNumber;     // 마지막으로 둔 수 번호
+    private long remainingMs;   // 현재 턴 남은 시간
+    private byte[] cells;       // 칸별 Stone ordinal (y * 15 + x)
+}
@@ -15,4 +15,5 @@ public enum MessageType {
     ERROR,
     BOARD_SNAPSHOT,
     ROOM_MEMBERS,
+    FORBIDDEN_CELLS,    // 클라이언트 요청 / 서버 응답 (흑 금수 칸 목록)
 }
@@ -0,0 +1,177 @@
+package team.omok.omok_mini_project.manager;
+
+import team.omok.omok_mini_project.cluster.ClusterManager;
+import team.omok.omok_mini_project.controller.LobbyWebSocket;
+import team.omok.omok_mini_project.domain.Room;
+import team.omok.omok_mini_project.enums.RoomStatus;
+import team.omok.omok_mini_project.util.JsonUtil;
+import team.omok.omok_mini_project.util.SerialExecutor;
+import team.omok.omok_mini_project.util.SessionOutbox;
+
+import javax.websocket.Session;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로비 방 목록 피드 (버전 있는 증분 프로토콜)
+ * <p>
+ * - 접속한 세션에만 전체 목록(ROOM_LIST, seq 포함)을 1번 보낸다.
+ * - 이후에는 바뀐 방 하나만 ROOM_ADDED / ROOM_UPDATED / ROOM_REMOVED 로 모든 로비 세션에 보낸다.
+ * - 모든 메시지에 1씩 증가하는 seq가 붙어서, 클라이언트는 번호가 비면 REQUEST_ROOM_LIST로 다시 받는다.
+ * <p>
+ * 락 안에서는 views 갱신과 seq 부여, 전송 작업 예약만 한다.
+ * JSON 직렬화, 로비 세션 전송, 클러스터 전파는 로비 전용 직렬 실행기(sender)에서 락 밖으로 처리하고,
+ * 예약을 seq 순서대로 하므로 모든 세션이 seq 순서대로 받는다.
+ * 방마다 마지막으로 보낸 정보를 들고 있어서 바뀐 게 없으면 아무것도 보내지 않는다.
+ * <p>
+ * 클러스터 모드에서는 이 노드 방 변경을 다른 노드에도 알리고, 다른 노드 방(remoteRoomChanged)도 같은 목록에 합친다.
+ */
+public class LobbyFeed {
+    private static final LobbyFeed instance = new LobbyFeed();
+
+    // 로비에 보이는 방 (roomId -> 마지막으로 보낸 방 정보), 생성 순서 유지
+    private final Map<String, Map<String, Object>> views = new LinkedHashMap<>();
+    private long seq;
+
+    // 로비 메시지 전송 전용 실행기 (seq 순서 그대로 하나씩 처리)
+    private final SerialExecutor sender = new SerialExecutor();
+
+    public static LobbyFeed getInstance() {
+        return instance;
+    }
+
+    /**
+     * 방 상태/인원이 바뀌었을 때 호출 (방 생성, 입장, 퇴장, 상태 전이)
+     * - 종료(END)된 방은 로비에서 빠진다.
+     */
+    public synchronized void roomChanged(Room room) {
+        String roomId = room.getRoomId();
+        // 이미 제거된 방의 늦은 알림은 무시
+        if (RoomManager.getInstance().getRoomById(roomId) != room) {
+            return;
+        }
+        Map<String, Object> prev = views.get(roomId);
+
+        if (room.getStatus() == RoomStatus.END) {
+            if (prev != null) {
+                removed(roomId);
+                sender.execute(() -> ClusterManager.getInstance().publishRoomRemoved(roomId));
+            }
+            return;
+        }
+
+        Map<String, Object> next = toView(room);
+        if (next.equals(prev)) {
+            return;
+        }
+        changed(roomId, prev, next);
+        sender.execute(() -> ClusterManager.getInstance().publishRoomView(next));
+    }
+
+    // 방이 RoomManager에서 제거됐을 때 호출
+    public synchronized void roomRemoved(String roomId) {
+        if (views.containsKey(roomId)) {
+            removed(roomId);
+            sender.execute(() -> ClusterManager.getInstance().publishRoomRemoved(roomId));
+        }
+    }
+
+    /// ////////////// 클러스터 (다른 노드 방) ////////////////////
+
+    // 다른 노드 방 정보가 바뀌었을 때 (END 방은 주인 노드가 REMOVED로 알려줌)
+    public synchronized void remoteRoomChanged(Map<String, Object> view) {
+        String roomId = (String) view.get("roomId");
+        Map<String, Object> prev = views.get(roomId);
+        if (!view.equals(prev)) {
+            changed(roomId, prev, view);
+        }
+    }
+
+    public synchronized void remoteRoomRemoved(String roomId) {
+        if (views.containsKey(roomId)) {
+            removed(roomId);
+        }
+    }
+
+    // 이 노드가 주인인 방 정보 (다른 노드의 LOBBY_SYNC 응답용)
+    public synchronized List<Map<String, Object>> localViews() {
+        List<Map<String, Object>> local = new ArrayList<>();
+        for (Map<String, Object> view : views.values()) {
+            if (RoomManager.getInstance().getRoomById((String) view.get("roomId")) != null) {
+                local.add(view);
+            }
+        }
+        return local;
+    }
+
+    // 로비에 보이는 방 정보 (다른 노드 방 포함), 없으면 null
+    public synchronized Map<String, Object> getView(String roomId) {
+        return views.get(roomId);
+    }
+
+    // 한 세션에만 현재 전체 목록 전송 (접속 시, 재동기화 요청 시)
+    // 목록과 seq는 락 안에서 복사하고, 직렬화/전송은 증분 메시지와 같은 sender에서 해서 순서를 맞춘다.
+    public synchronized void sendSnapshot(Session session) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "ROOM_LIST");
+        message.put("seq", seq);
+        message.put("rooms", new ArrayList<>(views.values()));
+
+        sender.execute(() ->
+                SessionOutbox.send(session, "ROOM_LIST", toJson(message), SessionOutbox.Priority.LATEST_ONLY));
+    }
+
+    public synchronized long getSeq() {
+        return seq;
+    }
+
+    public synchronized int getRoomCount() {
+        return views.size();
+    }
+
+    private void changed(String roomId, Map<String, Object> prev, Map<String, Object> next) {
+        views.put(roomId, next);
+        publish(prev == null ? "ROOM_ADDED" : "ROOM_UPDATED", "room", next);
+    }
+
+    private void removed(String roomId) {
+        views.remove(roomId);
+        publish("ROOM_REMOVED", "roomId", roomId);
+    }
+
+    private void publish(String type, String key, Object value) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", type);
+        message.put("seq", ++seq);
+        message.put(key, value);
+
+        sender.execute(() -> {
+            // 로비에 아무도 없으면 직렬화 생략 (seq만 증가, 나중에 접속하면 전체 목록을 받음)
+            if (LobbyWebSocket.getLobbyUserCount() == 0) {
+                return;
+            }
+            LobbyWebSocket.broadcastEncoded(type, toJson(message), SessionOutbox.Priority.CRITICAL);
+        });
+    }
+
+    // 로비에 필요한 방 정보만 추출 (JSON 직렬화용)
+    private Map<String, Object> toView(Room room) {
+        Map<String, Object> roomInfo = new HashMap<>();
+        roomInfo.put("roomId", room.getRoomId());
+        roomInfo.put("ownerId", room.getOwnerId());
+        roomInfo.put("players", List.copyOf(room.getPlayers()));  // List<Integer>
+        roomInfo.put("status", room.getStatus().toString());
+        return roomInfo;
+    }
+
+    private String toJson(Map<String, Object> message) {
+        try {
+            return JsonUtil.MAPPER.writeValueAsString(message);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -3,12 +3,14 @@ package team.omok.omok_mini_project.manager;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.NavigableSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.websocket.Session;
 
-import team.omok.omok_mini_project.controller.LobbyWebSocket;
+import team.omok.omok_mini_project.cluster.ClusterManager;
 import team.omok.omok_mini_project.domain.Room;
 import team.omok.omok_mini_project.enums.RoomStatus;
 
@@ -18,6 +20,10 @@ import team.omok.omok_mini_project.enums.RoomStatus;
  * 서버 전체에 존재하는 모든 room을 관리하며, 싱글톤으로 구현된다.
  * RoomManager는 Room 상태를 알지 못하며,
  * 오직 생성/조회/삭제/목록 반환
+ * <p>
+ * 입장 가능한 방(자리 있음 + 종료 전)은 생성 시간 순 skip-list 인덱스로 따로 유지한다.
+ * Room이 인원/상태가 바뀔 때 roomChanged로 알려주면 인덱스를 갱신한다.
+ * 빠른 입장은 인덱스 맨 앞(가장 오래된 방)부터 방 메일박스에서 자리를 잡아본다. (O(log n) + 재시도)
  *
  * @see Room
  */
@@ -26,41 +32,123 @@ public class RoomManager {
     private static final RoomManager instance = new RoomManager();          // 싱글톤 인스턴스
     private final Map<String, Room> rooms = new ConcurrentHashMap<>();      // 서버에 존재하는 방 리스트(roomId, Room)
 
+    // 빠른 입장 시 자리 잡기 최대 시도 횟수 (인덱스가 잠깐 어긋난 방은 건너뜀)
+    private static final int MAX_CLAIM_ATTEMPTS = 16;
+
+    // 입장 가능한 방 인덱스 (생성 시간 오름차순, 같으면 roomId)
+    private final NavigableSet<Room> joinableRooms = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Room::getCreatedAt).thenComparing(Room::getRoomId));
+
+    // 빠른 입장 지표
+    private final AtomicLong claimCount = new AtomicLong();
+    private final AtomicLong claimRetryCount = new AtomicLong();
+    private final AtomicLong claimMissCount = new AtomicLong();
+
     public static RoomManager getInstance() {
         return instance;
     }
 
     // 방 생성
     public Room createRoom(int userId) {
-        String roomId = UUID.randomUUID().toString();
-        Room room = new Room(roomId, userId);
+        return register(new Room(ClusterManager.getInstance().newLocalRoomId(), userId));
+    }
+
+    // 두 명이 앉은 방 생성 (랭크 매칭), 처음부터 가득 차 있어서 입장 가능 목록에 안 들어감
+    public Room createRoom(int ownerId, int secondId) {
+        return register(Room.withPlayers(ClusterManager.getInstance().newLocalRoomId(), ownerId, secondId));
+    }
+
+    private Room register(Room room) {
+        String roomId = room.getRoomId();
         rooms.put(roomId, room);
+        updateJoinable(room);
         System.out.println("[INFO]RoomManager - createRoom:" + roomId);
 
-        LobbyWebSocket.broadcastRoomList();
+        LobbyFeed.getInstance().roomChanged(room);
 
         return room;
     }
 
+    // 재시작 복구로 다시 만든 방 등록
+    public void restoreRoom(Room room) {
+        rooms.put(room.getRoomId(), room);
+        roomChanged(room);
+    }
+
     public void enterRoomAsSpectator(String roomId, Session session) {
         Room room = rooms.get(roomId);
         if (room == null) {
             throw new IllegalArgumentException("방이 존재하지 않습니다");
         }
-        room.addSpectatorSession(session);
+        room.execute(() -> room.addSpectatorSession(session));
     }
 
     public boolean removeRoom(String roomId) {
-        boolean removed = rooms.remove(roomId) != null;
+        Room room = rooms.remove(roomId);
+        boolean removed = room != null;
+        if (removed) {
+            joinableRooms.remove(room);
+        }
 
-        // 로비에 방 목록 업데이트 전송 (실시간으로 방이 사라짐)
+        // 로비에 방 삭제 전송 (실시간으로 방이 사라짐)
         if (removed) {
-            LobbyWebSocket.broadcastRoomList();
+            LobbyFeed.getInstance().roomRemoved(roomId);
         }
 
         return removed;
     }
 
+    // 방 인원/상태가 바뀌었을 때 Room이 호출 (입장 가능 인덱스 + 로비 피드 갱신)
+    public void roomChanged(Room room) {
+        updateJoinable(room);
+        LobbyFeed.getInstance().roomChanged(room);
+    }
+
+    private void updateJoinable(Room room) {
+        if (isJoinable(room)) {
+            joinableRooms.add(room);
+        } else {
+            joinableRooms.remove(room);
+        }
+        // 이미 제거된 방(removeRoom과 동시에 들어온 알림)은 인덱스에 남기지 않음
+        if (rooms.get(room.getRoomId()) != room) {
+            joinableRooms.remove(room);
+        }
+    }
+
+    private boolean isJoinable(Room room) {
+        return !room.isFull() && room.getStatus() != RoomStatus.END;
+    }
+
+    /**
+     * 빠른 입장: 가장 오래된 입장 가능한 방에 자리 잡기
+     * - 인덱스 앞에서부터 방 메일박스에서 "자리 확인 + 추가"를 한 번에 시도
+     * - 그 사이 다른 사람이 먼저 들어가 찼으면 다음 방으로 (최대 MAX_CLAIM_ATTEMPTS번)
+     *
+     * @return 자리를 잡은 방, 없으면 null
+     */
+    public Room claimSeat(int userId) {
+        claimCount.incrementAndGet();
+        Room candidate = firstOrNull();
+        for (int attempt = 0; candidate != null && attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Room room = candidate;
+            if (room.invoke(() -> room.tryClaimSeat(userId))) {
+                return room;
+            }
+            claimRetryCount.incrementAndGet();
+            candidate = joinableRooms.higher(room);
+        }
+        claimMissCount.incrementAndGet();
+        return null;
+    }
+
+    private Room firstOrNull() {
+        for (Room room : joinableRooms) {
+            return room;
+        }
+        return null;
+    }
+
     public Room getRoomById(String roomId) {
         return rooms.get(roomId);
     }
@@ -69,11 +157,9 @@ public class RoomManager {
         return rooms.values().stream().toList();
     }
 
+    // 입장 가능한 방 목록 (인덱스가 이미 생성 시간 오름차순)
     public List<Room> getWaitingRooms() {
-        return rooms.values().stream()
-                .filter(room -> !room.isFull())
-                .sorted(Comparator.comparingLong(Room::getCreatedAt))  // 생성 시간 오름차순
-                .toList();
+        return List.copyOf(joinableRooms);
     }
     
     // 로비에 보여줄 방 목록: 대기 + 진행중(관전) 포함, 종료(END)만 제외
@@ -84,12 +170,35 @@ public class RoomManager {
                 .toList();
     }
 
-    // 빠른 입장: 가장 먼저 생성된 대기 방 1개 반환
-    public Room getFirstWaitingRoom() {
-        return rooms.values().stream()
-                .filter(room -> !room.isFull())
-                .min(Comparator.comparingLong(Room::getCreatedAt))  // 가장 오래된 방
-                .orElse(null);  // 대기 중인 방이 없으면 null
+    /// /////////// 지표 ///////////////
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    // 전체 방 관전자 수 (방마다 샤드 카운터 합)
+    public int getSpectatorCount() {
+        int total = 0;
+        for (Room room : rooms.values()) {
+            total += room.getSpectatorFanout().size();
+        }
+        return total;
+    }
+
+    public int getJoinableRoomCount() {
+        return joinableRooms.size();
+    }
+
+    public long getClaimCount() {
+        return claimCount.get();
+    }
+
+    public long getClaimRetryCount() {
+        return claimRetryCount.get();
+    }
+
+    public long getClaimMissCount() {
+        return claimMissCount.get();
     }
 
 }
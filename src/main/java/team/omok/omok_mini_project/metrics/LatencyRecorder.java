@@ -0,0 +1,141 @@
+package team.omok.omok_mini_project.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 분포 기록기 (HdrHistogram 방식의 로그-선형 버킷)
+ * <p>
+ * - 0~31은 값 그대로, 그 위로는 2의 거듭제곱 구간마다 16칸으로 나눈다. (오차 최대 1/16 ≈ 6%)
+ * - 버킷 960개 고정이라 기록은 인덱스 계산 + 원자적 증가 한 번, 할당 없음.
+ * - 서버 시작 후 누적값. (구간별 값은 수집하는 쪽에서 두 번 읽어 차이로 계산)
+ * <p>
+ * 시간용(nanos)은 나노초로 기록하고 마이크로초로 보고한다. 크기용(values)은 받은 값 그대로.
+ */
+public final class LatencyRecorder {
+
+    private static final int LINEAR = 32;           // 값 그대로 세는 구간
+    private static final int SUB_BITS = 4;          // 2의 거듭제곱 구간당 16칸
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR + (62 - 5 + 1) * SUB_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+    private final String unit;
+    private final double divisor;
+
+    private LatencyRecorder(String unit, double divisor) {
+        this.unit = unit;
+        this.divisor = divisor;
+    }
+
+    // 소요 시간 기록용 (나노초 기록, 마이크로초 보고)
+    public static LatencyRecorder nanos() {
+        return new LatencyRecorder("us", 1_000.0);
+    }
+
+    // 크기/개수 기록용
+    public static LatencyRecorder values() {
+        return new LatencyRecorder("count", 1.0);
+    }
+
+    /// ////////////// 기록 ////////////////////
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    // start = System.nanoTime()
+    public void recordSince(long start) {
+        record(System.nanoTime() - start);
+    }
+
+    /// ////////////// 조회 ////////////////////
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n / divisor;
+    }
+
+    public double getMax() {
+        return max.get() / divisor;
+    }
+
+    // q: 0~1 (0.99 = p99), 버킷 중간값이라 최대 6% 오차
+    public double getPercentile(double q) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(middleOf(i), max.get()) / divisor;
+            }
+        }
+        return max.get() / divisor;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    // 서블릿/JMX 출력용
+    public Map<String, Object> snapshot() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("unit", unit);
+        out.put("count", getCount());
+        out.put("mean", round(getMean()));
+        out.put("p50", round(getPercentile(0.50)));
+        out.put("p90", round(getPercentile(0.90)));
+        out.put("p99", round(getPercentile(0.99)));
+        out.put("p999", round(getPercentile(0.999)));
+        out.put("max", round(getMax()));
+        return out;
+    }
+
+    /// ////////////// 버킷 ////////////////////
+
+    static int indexOf(long value) {
+        if (value < LINEAR) return (int) value;
+        int exp = 63 - Long.numberOfLeadingZeros(value);     // 5 이상
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR + (exp - 5) * SUB_COUNT + sub;
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < LINEAR) return index;
+        int exp = (index - LINEAR) / SUB_COUNT + 5;
+        int sub = (index - LINEAR) % SUB_COUNT;
+        return (1L << exp) + ((long) sub << (exp - SUB_BITS));
+    }
+
+    private static long middleOf(int index) {
+        if (index < LINEAR) return index;
+        int exp = (index - LINEAR) / SUB_COUNT + 5;
+        return lowerBoundOf(index) + (1L << (exp - SUB_BITS - 1));
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10) / 10.0;
+    }
+}
@@ -0,0 +1,91 @@
+package team.omok.omok_mini_project.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 지표 저장소 (이름 -> 기록기/카운터/게이지)
+ * <p>
+ * - timer/histogram/counter는 같은 이름이면 같은 객체를 돌려준다. 핫패스에서는 static final 필드로 받아두고 쓴다.
+ * - gauge는 읽을 때마다 supplier를 호출한다. (기존 클래스들의 getXxxCount()를 그대로 연결)
+ * - 조회는 MetricsServlet(/metrics, JSON)과 JMX(team.omok:type=Metrics)로 한다.
+ * <p>
+ * 이름 규칙: 영역.대상 (move.total, dao.user.findByUserId, lobby.broadcast ...)
+ */
+public final class Metrics {
+
+    private static final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /// ////////////// 등록 ////////////////////
+
+    // 소요 시간 분포 (System.nanoTime() 차이를 기록)
+    public static LatencyRecorder timer(String name) {
+        return recorders.computeIfAbsent(name, n -> LatencyRecorder.nanos());
+    }
+
+    // 크기/개수 분포
+    public static LatencyRecorder histogram(String name) {
+        return recorders.computeIfAbsent(name, n -> LatencyRecorder.values());
+    }
+
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    public static void gauge(String name, Supplier<? extends Number> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /// ////////////// 조회 ////////////////////
+
+    // { counters: {...}, gauges: {...}, timers: { name: {unit, count, mean, p50, ...} } }
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> counterValues = new TreeMap<>();
+        counters.forEach((name, adder) -> counterValues.put(name, adder.sum()));
+
+        Map<String, Object> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, supplier) -> gaugeValues.put(name, readGauge(name, supplier)));
+
+        Map<String, Object> recorderValues = new TreeMap<>();
+        recorders.forEach((name, recorder) -> recorderValues.put(name, recorder.snapshot()));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("counters", counterValues);
+        out.put("gauges", gaugeValues);
+        out.put("timers", recorderValues);
+        return out;
+    }
+
+    // 한 단계로 펼친 값 (JMX 속성용): move.total.p99, rooms.live ...
+    public static Map<String, Double> flatten() {
+        Map<String, Double> out = new TreeMap<>();
+        counters.forEach((name, adder) -> out.put(name, (double) adder.sum()));
+        gauges.forEach((name, supplier) -> {
+            Number value = readGauge(name, supplier);
+            if (value != null) out.put(name, value.doubleValue());
+        });
+        recorders.forEach((name, recorder) -> recorder.snapshot().forEach((key, value) -> {
+            if (value instanceof Number number) out.put(name + "." + key, number.doubleValue());
+        }));
+        return out;
+    }
+
+    // 게이지 하나가 실패해도 나머지는 보여준다
+    private static Number readGauge(String name, Supplier<? extends Number> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            System.out.println("[WARN] Metrics gauge failed: " + name + ", " + e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package team.omok.omok_mini_project.metrics;
+
+import team.omok.omok_mini_project.cluster.ClusterManager;
+import team.omok.omok_mini_project.controller.LobbyWebSocket;
+import team.omok.omok_mini_project.domain.Room;
+import team.omok.omok_mini_project.manager.LobbyFeed;
+import team.omok.omok_mini_project.manager.RoomManager;
+import team.omok.omok_mini_project.repository.MoveJournal;
+import team.omok.omok_mini_project.service.MatchmakingService;
+import team.omok.omok_mini_project.service.RatingWriter;
+import team.omok.omok_mini_project.service.RoomRecoveryService;
+import team.omok.omok_mini_project.service.UserProfileCache;
+import team.omok.omok_mini_project.util.DBConnection;
+import team.omok.omok_mini_project.util.InboundDecoder;
+import team.omok.omok_mini_project.util.SessionOutbox;
+import team.omok.omok_mini_project.util.SpectatorFanout;
+import team.omok.omok_mini_project.util.TimingWheel;
+
+// 기존 클래스들이 갖고 있던 지표 getter를 Metrics 게이지로 연결 (MetricsListener에서 1번 호출)
+public final class ServerGauges {
+
+    private ServerGauges() {
+    }
+
+    public static void register() {
+        /// ////////////// 방/세션 ////////////////////
+        RoomManager rooms = RoomManager.getInstance();
+        Metrics.gauge("rooms.live", rooms::getRoomCount);
+        Metrics.gauge("rooms.joinable", rooms::getJoinableRoomCount);
+        Metrics.gauge("rooms.claims", rooms::getClaimCount);
+        Metrics.gauge("rooms.claimRetries", rooms::getClaimRetryCount);
+        Metrics.gauge("rooms.claimMisses", rooms::getClaimMissCount);
+        Metrics.gauge("rooms.spectators", rooms::getSpectatorCount);
+        Metrics.gauge("rooms.countdowns", Room::getActiveCountdowns);
+        Metrics.gauge("lobby.users", LobbyWebSocket::getLobbyUserCount);
+        Metrics.gauge("lobby.seq", () -> LobbyFeed.getInstance().getSeq());
+        Metrics.gauge("lobby.rooms", () -> LobbyFeed.getInstance().getRoomCount());
+
+        /// ////////////// 타이머 ////////////////////
+        Metrics.gauge("timer.armed", () -> TimingWheel.shared().armedCount());
+
+        /// ////////////// 송신 큐 ////////////////////
+        Metrics.gauge("ws.sessions", SessionOutbox::sessionCount);
+        Metrics.gauge("ws.maxQueueDepth", SessionOutbox::maxQueueDepth);
+        Metrics.gauge("ws.sent", SessionOutbox::sentCount);
+        Metrics.gauge("ws.dropped", SessionOutbox::droppedCount);
+        Metrics.gauge("ws.coalesced", SessionOutbox::coalescedCount);
+        Metrics.gauge("ws.disconnected", SessionOutbox::disconnectedCount);
+        Metrics.gauge("ws.decoded", InboundDecoder::getDecodedCount);
+        Metrics.gauge("ws.rejected", InboundDecoder::getRejectedCount);
+        Metrics.gauge("spectator.frames", SpectatorFanout::getFrameCount);
+        Metrics.gauge("spectator.shardTasks", SpectatorFanout::getShardTaskCount);
+        Metrics.gauge("spectator.deliveries", SpectatorFanout::getDeliveryCount);
+        Metrics.gauge("spectator.batches", SpectatorFanout::getBatchCount);
+
+        /// ////////////// DB ////////////////////
+        Metrics.gauge("db.pool.active", () -> DBConnection.getPool().getActiveCount());
+        Metrics.gauge("db.pool.idle", () -> DBConnection.getPool().getIdleCount());
+        Metrics.gauge("db.pool.waiting", () -> DBConnection.getPool().getWaitingCount());
+        Metrics.gauge("db.pool.timeouts", () -> DBConnection.getPool().getTimeoutCount());
+        Metrics.gauge("db.pool.avgWaitMs", () -> DBConnection.getPool().getAvgWaitMs());
+        Metrics.gauge("db.pool.maxWaitMs", () -> DBConnection.getPool().getMaxWaitMs());
+        Metrics.gauge("profileCache.hits", () -> UserProfileCache.getInstance().getHitCount());
+        Metrics.gauge("profileCache.misses", () -> UserProfileCache.getInstance().getMissCount());
+        Metrics.gauge("profileCache.hitRatio", () -> UserProfileCache.getInstance().getHitRatio());
+        Metrics.gauge("rating.queueDepth", () -> RatingWriter.getInstance().getQueueDepth());
+        Metrics.gauge("rating.flushedGames", () -> RatingWriter.getInstance().getFlushedGames());
+        Metrics.gauge("rating.failedFlushes", () -> RatingWriter.getInstance().getFailedFlushes());
+        Metrics.gauge("rating.maxFlushMs", () -> RatingWriter.getInstance().getMaxFlushMs());
+
+        /// ////////////// 매칭/저널/복구 ////////////////////
+        Metrics.gauge("matchmaking.queue", () -> MatchmakingService.getInstance().getQueueLength());
+        Metrics.gauge("matchmaking.matches", () -> MatchmakingService.getInstance().getMatchCount());
+        Metrics.gauge("matchmaking.oldestWaitMs", () -> MatchmakingService.getInstance().getOldestWaitMs());
+        Metrics.gauge("journal.queueDepth", () -> MoveJournal.getInstance().getQueueDepth());
+        Metrics.gauge("journal.written", () -> MoveJournal.getInstance().getWrittenCount());
+        Metrics.gauge("journal.dropped", () -> MoveJournal.getInstance().getDroppedCount());
+        Metrics.gauge("journal.maxForceMs", () -> MoveJournal.getInstance().getMaxForceMs());
+        Metrics.gauge("recovery.lastSnapshotMs", () -> RoomRecoveryService.getInstance().getLastSnapshotMs());
+        Metrics.gauge("recovery.lastSnapshotBytes", () -> RoomRecoveryService.getInstance().getLastSnapshotBytes());
+
+        /// ////////////// 클러스터 ////////////////////
+        ClusterManager cluster = ClusterManager.getInstance();
+        if (cluster.isEnabled()) {
+            Metrics.gauge("cluster.peers", cluster::getPeerCount);
+            Metrics.gauge("cluster.edgeSessions", cluster::getEdgeSessionCount);
+            Metrics.gauge("cluster.remoteSessions", cluster::getRemoteSessionCount);
+            Metrics.gauge("cluster.forwarded", cluster::getForwardedCount);
+            Metrics.gauge("cluster.delivered", cluster::getDeliveredCount);
+            Metrics.gauge("cluster.received", cluster::getReceivedCount);
+            Metrics.gauge("cluster.requestTimeouts", cluster::getRequestTimeoutCount);
+        }
+    }
+}
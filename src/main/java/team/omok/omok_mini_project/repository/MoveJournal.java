@@ -0,0 +1,510 @@
+package team.omok.omok_mini_project.repository;
+
+import team.omok.omok_mini_project.cluster.ClusterManager;
+import team.omok.omok_mini_project.enums.Stone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 착수 저널 (append-only, 메모리 맵 세그먼트 파일)
+ * <p>
+ * - 게임 시작/착수/시간초과/게임 종료를 고정 길이(RECORD_BYTES) 바이너리 레코드로 남긴다.
+ *   리플레이, 검증, 재시작 후 복구의 기반 (착수마다 DB INSERT 하지 않음)
+ * - 방 메일박스는 큐에 넣기만 하고 바로 돌아간다. (파일 I/O 없음, 큐가 가득 차면 버리고 센다)
+ * - 전용 스레드가 세그먼트(MappedByteBuffer)에 쓰고, 모아서 한 번에 force(group commit) 한다.
+ *   force는 GROUP_COMMIT_MS에 한 번 이하, 큐가 비면 바로.
+ * - 세그먼트가 차면 다음 파일(moves-00000002.seg ...)로 넘어간다.
+ * - 보관: 방 스냅샷(rooms.snap)을 저장할 때마다 복구에 더 이상 필요 없는 앞쪽 세그먼트를 지운다. (deleteSegmentsBefore)
+ * - 디렉터리: 시스템 프로퍼티 omok.journal.dir (기본: java.io.tmpdir/omok-journal)
+ * <p>
+ * 레코드 (40바이트, big-endian):
+ * type(1) color(1) x(1) y(1) moveNo(4) roomId.msb(8) roomId.lsb(8) a(4) b(4) ts(8)
+ * - GAME_START: a=흑 userId, b=백 userId
+ * - MOVE:      moveNo, x, y, color, a=둔 유저 userId
+ * - TIMEOUT:   a=승자 userId (시간초과된 쪽의 상대)
+ * - GAME_END:  a=승자 userId (없으면 -1)
+ * type은 마지막에 쓰므로, 0이면 아직 안 쓰인 자리(세그먼트 끝)로 본다.
+ */
+public class MoveJournal {
+    private static final MoveJournal instance = new MoveJournal();
+
+    public static final byte GAME_START = 1;
+    public static final byte MOVE = 2;
+    public static final byte TIMEOUT = 3;
+    public static final byte GAME_END = 4;
+
+    static final int RECORD_BYTES = 40;
+    private static final int RECORDS_PER_SEGMENT = 100_000;
+    private static final int SEGMENT_BYTES = RECORD_BYTES * RECORDS_PER_SEGMENT;   // 4MB
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final long GROUP_COMMIT_MS = 20;
+    private static final String SEGMENT_PREFIX = "moves-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path dir;
+    private final ArrayBlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean enabled;
+
+    // 현재 세그먼트 (워커 스레드에서만 접근)
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private volatile int segmentNo;
+    private boolean dirty;
+    private long lastForceAt;
+
+    // 지표
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong forces = new AtomicLong();
+    private final AtomicLong rotations = new AtomicLong();
+    private volatile long maxForceMs;
+
+    private MoveJournal() {
+        this.dir = journalDir();
+        try {
+            Files.createDirectories(dir);
+            openLastSegment();
+            enabled = true;
+            System.out.println("[INFO] MoveJournal - dir=" + dir + ", segment=" + segmentNo
+                    + ", position=" + segment.position());
+        } catch (IOException e) {
+            // 저널을 못 열어도 게임은 진행 (기록만 안 남음)
+            System.out.println("[WARN] MoveJournal disabled: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        worker = new Thread(this::run, "omok-move-journal");
+        worker.setDaemon(true);
+        if (enabled) {
+            worker.start();
+        }
+    }
+
+    public static MoveJournal getInstance() {
+        return instance;
+    }
+
+    // 저널/스냅샷 디렉터리 (omok.journal.dir, 없으면 tmpdir/omok-journal)
+    // 클러스터 모드 기본값은 노드마다 하위 디렉터리를 따로 써서, 같은 호스트의 노드끼리 세그먼트/rooms.snap을 공유하지 않는다
+    public static Path journalDir() {
+        String configured = System.getProperty("omok.journal.dir");
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "omok-journal");
+        return ClusterManager.isConfigured() ? dir.resolve(ClusterManager.configuredNodeId()) : dir;
+    }
+
+    /// ////////////// 기록 (방 메일박스에서 호출, 바로 리턴) ////////////////////
+
+    public void gameStarted(String roomId, int blackUserId, int whiteUserId) {
+        append(new Entry(GAME_START, roomId, 0, -1, -1, Stone.EMPTY, blackUserId, whiteUserId, System.currentTimeMillis()));
+    }
+
+    public void moved(String roomId, int moveNo, int x, int y, Stone color, int userId) {
+        append(new Entry(MOVE, roomId, moveNo, x, y, color, userId, 0, System.currentTimeMillis()));
+    }
+
+    public void timedOut(String roomId, int winnerId) {
+        append(new Entry(TIMEOUT, roomId, 0, -1, -1, Stone.EMPTY, winnerId, 0, System.currentTimeMillis()));
+    }
+
+    public void gameEnded(String roomId, int winnerId) {
+        append(new Entry(GAME_END, roomId, 0, -1, -1, Stone.EMPTY, winnerId, 0, System.currentTimeMillis()));
+    }
+
+    private void append(Entry entry) {
+        if (!enabled) return;
+        if (queue.offer(entry)) {
+            appended.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /// ////////////// 워커 ////////////////////
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(GROUP_COMMIT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                queue.drainTo(batch);
+            }
+
+            try {
+                for (Entry e : batch) {
+                    write(e);
+                }
+                written.addAndGet(batch.size());
+                batch.clear();
+
+                long now = System.currentTimeMillis();
+                if (dirty && (queue.isEmpty() || now - lastForceAt >= GROUP_COMMIT_MS)) {
+                    force();
+                }
+            } catch (Exception e) {
+                dropped.addAndGet(batch.size());
+                batch.clear();
+                System.out.println("[WARN] MoveJournal write failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+
+        try {
+            if (dirty) force();
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void write(Entry e) throws IOException {
+        if (segment.remaining() < RECORD_BYTES) {
+            rotate();
+        }
+        int pos = segment.position();
+        encode(segment, pos, e);
+        segment.position(pos + RECORD_BYTES);
+        dirty = true;
+    }
+
+    private void force() {
+        long start = System.nanoTime();
+        segment.force();
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        maxForceMs = Math.max(maxForceMs, ms);
+        forces.incrementAndGet();
+        lastForceAt = System.currentTimeMillis();
+        dirty = false;
+    }
+
+    /// ////////////// 세그먼트 ////////////////////
+
+    // 마지막 세그먼트를 열고 이어 쓸 위치를 찾는다 (없으면 1번 생성)
+    private void openLastSegment() throws IOException {
+        List<Path> segments = listSegments(dir);
+        if (segments.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        openSegment(segmentNoOf(last));
+
+        int pos = 0;
+        while (pos + RECORD_BYTES <= SEGMENT_BYTES && segment.get(pos) != 0) {
+            pos += RECORD_BYTES;
+        }
+        segment.position(pos);
+    }
+
+    private void rotate() throws IOException {
+        if (dirty) force();
+        channel.close();
+        openSegment(segmentNo + 1);
+        rotations.incrementAndGet();
+    }
+
+    private void openSegment(int no) throws IOException {
+        Path file = dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, no, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+        segmentNo = no;
+    }
+
+    /**
+     * 보관 정책: 마지막 레코드가 cutoffMs 이전인 세그먼트를 앞에서부터 지운다.
+     * - RoomRecoveryService가 rooms.snap을 디스크에 다 쓴 뒤, 그 takenAt - REPLAY_SLACK_MS를 넘겨 호출한다.
+     *   복구는 그 시각 이후 레코드만 재생하므로 지운 세그먼트는 다시 읽을 일이 없다.
+     * - 처음으로 남겨야 할 세그먼트에서 멈추고, 지금 쓰고 있는 세그먼트는 지우지 않는다.
+     *
+     * @return 지운 세그먼트 수
+     */
+    public int deleteSegmentsBefore(long cutoffMs) {
+        if (!enabled) return 0;
+        int deleted = 0;
+        try {
+            for (Path file : listSegments(dir)) {
+                if (segmentNoOf(file) >= segmentNo || lastTimestamp(file) >= cutoffMs) {
+                    break;
+                }
+                Files.delete(file);
+                deleted++;
+            }
+        } catch (IOException e) {
+            System.out.println("[WARN] MoveJournal segment cleanup failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+        if (deleted > 0) {
+            System.out.println("[INFO] MoveJournal - deleted " + deleted + " segment(s) before " + cutoffMs);
+        }
+        return deleted;
+    }
+
+    static List<Path> listSegments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int segmentNoOf(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /// ////////////// 인코딩 ////////////////////
+
+    static void encode(ByteBuffer buf, int pos, Entry e) {
+        UUID id = toUuid(e.roomId);
+        buf.put(pos + 1, (byte) e.color.ordinal());
+        buf.put(pos + 2, (byte) e.x);
+        buf.put(pos + 3, (byte) e.y);
+        buf.putInt(pos + 4, e.moveNo);
+        buf.putLong(pos + 8, id.getMostSignificantBits());
+        buf.putLong(pos + 16, id.getLeastSignificantBits());
+        buf.putInt(pos + 24, e.a);
+        buf.putInt(pos + 28, e.b);
+        buf.putLong(pos + 32, e.timestamp);
+        // type을 마지막에 써서 "type != 0 = 다 쓴 레코드"
+        buf.put(pos, e.type);
+    }
+
+    static Entry decode(ByteBuffer buf, int pos) {
+        byte type = buf.get(pos);
+        int color = buf.get(pos + 1);
+        UUID id = new UUID(buf.getLong(pos + 8), buf.getLong(pos + 16));
+        return new Entry(type, id.toString(), buf.getInt(pos + 4), buf.get(pos + 2), buf.get(pos + 3),
+                Stone.values()[color], buf.getInt(pos + 24), buf.getInt(pos + 28), buf.getLong(pos + 32));
+    }
+
+    // 방 ID는 RoomManager가 만든 UUID 문자열 (그 외 형식은 이름 기반 UUID로 바꿔 저장)
+    private static UUID toUuid(String roomId) {
+        try {
+            return UUID.fromString(roomId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(roomId.getBytes());
+        }
+    }
+
+    /// ////////////// 읽기 ////////////////////
+
+    /**
+     * 저널 디렉터리의 모든 레코드를 기록 순서대로 읽는다. (리플레이/복구용, 쓰기 스레드와 별개)
+     *
+     * @return 읽은 레코드 수
+     */
+    public static long readAll(Path dir, Consumer<Entry> consumer) throws IOException {
+        return readSince(dir, Long.MIN_VALUE, consumer);
+    }
+
+    /**
+     * sinceMs 이후에 기록된 레코드만 읽는다. (스냅샷 이후 재생용)
+     * - 다음 세그먼트의 첫 레코드가 sinceMs 이전이면 이번 세그먼트는 통째로 건너뛴다.
+     *
+     * @return 읽은 레코드 수
+     */
+    public static long readSince(Path dir, long sinceMs, Consumer<Entry> consumer) throws IOException {
+        List<Path> segments = listSegments(dir);
+        long count = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstTimestamp(segments.get(i + 1)) < sinceMs) {
+                continue;
+            }
+            count += readSegment(segments.get(i), sinceMs, consumer);
+        }
+        return count;
+    }
+
+    private static long readSegment(Path file, long sinceMs, Consumer<Entry> consumer) throws IOException {
+        long count = 0;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            for (int pos = 0; pos + RECORD_BYTES <= buf.limit(); pos += RECORD_BYTES) {
+                byte type = buf.get(pos);
+                if (type == 0) break;
+                if (type > GAME_END) {
+                    System.out.println("[WARN] MoveJournal - bad record: " + file + "@" + pos);
+                    break;
+                }
+                if (buf.getLong(pos + 32) < sinceMs) continue;
+                consumer.accept(decode(buf, pos));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 세그먼트 첫 레코드 시각 (비었으면 Long.MAX_VALUE)
+    private static long firstTimestamp(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(RECORD_BYTES);
+            if (ch.read(head, 0) < RECORD_BYTES || head.get(0) == 0) {
+                return Long.MAX_VALUE;
+            }
+            return head.getLong(32);
+        }
+    }
+
+    // 세그먼트 마지막 레코드 시각 (비었으면 Long.MIN_VALUE)
+    private static long lastTimestamp(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            for (int pos = (buf.limit() / RECORD_BYTES - 1) * RECORD_BYTES; pos >= 0; pos -= RECORD_BYTES) {
+                if (buf.get(pos) != 0) {
+                    return buf.getLong(pos + 32);
+                }
+            }
+            return Long.MIN_VALUE;
+        }
+    }
+
+    // 애플리케이션 종료 시: 남은 레코드 기록 + force 후 종료
+    public void shutdown() {
+        if (!enabled) return;
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getAppendedCount() {
+        return appended.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getForceCount() {
+        return forces.get();
+    }
+
+    public long getRotationCount() {
+        return rotations.get();
+    }
+
+    public long getMaxForceMs() {
+        return maxForceMs;
+    }
+
+    public int getSegmentNo() {
+        return segmentNo;
+    }
+
+    /**
+     * 저널 레코드 1개
+     */
+    public static final class Entry {
+        private final byte type;
+        private final String roomId;
+        private final int moveNo;
+        private final int x;
+        private final int y;
+        private final Stone color;
+        private final int a;
+        private final int b;
+        private final long timestamp;
+
+        Entry(byte type, String roomId, int moveNo, int x, int y, Stone color, int a, int b, long timestamp) {
+            this.type = type;
+            this.roomId = roomId;
+            this.moveNo = moveNo;
+            this.x = x;
+            this.y = y;
+            this.color = color;
+            this.a = a;
+            this.b = b;
+            this.timestamp = timestamp;
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public String getRoomId() {
+            return roomId;
+        }
+
+        public int getMoveNo() {
+            return moveNo;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public Stone getColor() {
+            return color;
+        }
+
+        public int getA() {
+            return a;
+        }
+
+        public int getB() {
+            return b;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{type=" + type + ", roomId=" + roomId + ", moveNo=" + moveNo
+                    + ", x=" + x + ", y=" + y + ", color=" + color + ", a=" + a + ", b=" + b + ", ts=" + timestamp + "}";
+        }
+    }
+}
@@ -1,60 +1,143 @@
 package team.omok.omok_mini_project.repository;
 
 import team.omok.omok_mini_project.domain.dto.RankingDTO;
+import team.omok.omok_mini_project.domain.vo.GameResultVO;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
 import team.omok.omok_mini_project.util.DBConnection;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class RecordDAO {
-    public static List<RankingDTO> getTopRank() {
+    // 메서드별 DB 소요 시간 (커넥션 대기 포함)
+    private static final LatencyRecorder FIND_TOP_RANK_TIME = Metrics.timer("dao.record.findTopRank");
+    private static final LatencyRecorder FIND_RANKING_TIME = Metrics.timer("dao.record.findRanking");
+    private static final LatencyRecorder APPLY_RESULTS_TIME = Metrics.timer("dao.record.applyResults");
+    private static final LatencyRecorder FIND_RATINGS_TIME = Metrics.timer("dao.record.findRatings");
+    private static final LatencyRecorder INSERT_RECORD_DEFAULT_TIME = Metrics.timer("dao.record.insertRecordDefault");
+
+    // 레이팅 상위 limit명 (LeaderboardService가 처음/재적재 시에만 호출)
+    public List<RankingDTO> findTopRank(int limit) throws Exception {
+        return SqlCall.timed(FIND_TOP_RANK_TIME, () -> doFindTopRank(limit));
+    }
+
+    private List<RankingDTO> doFindTopRank(int limit) throws Exception {
         List<RankingDTO> list = new ArrayList<RankingDTO>();
 
-        String sql = "SELECT u.nickname, r.rating, u.profile_img " +
+        String sql = "SELECT u.user_id, u.nickname, r.rating, u.profile_img " +
                 "FROM record r JOIN users u " +
                 "ON r.user_id = u.user_id " +
-                "ORDER BY r.rating DESC LIMIT 10";
+                "ORDER BY r.rating DESC LIMIT ?";
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()){
-            int currentRank = 1;
-            while(rs.next()) {
-                RankingDTO dto = new RankingDTO();
-                dto.setRank(currentRank++);
-                dto.setNickname(rs.getString("nickname"));
-                dto.setRating(rs.getInt("rating"));
-                dto.setProfileImg(rs.getString("profile_img"));
-                list.add(dto);
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                int currentRank = 1;
+                while (rs.next()) {
+                    RankingDTO dto = toRanking(rs);
+                    dto.setRank(currentRank++);
+                    list.add(dto);
+                }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
         return list;
     }
 
-    public void updateRating(int userId, boolean isWin) {
-        String sql;
+    // 유저 1명의 랭킹 정보 (순위는 채우지 않음), 없으면 null
+    public RankingDTO findRanking(int userId) throws Exception {
+        return SqlCall.timed(FIND_RANKING_TIME, () -> doFindRanking(userId));
+    }
 
-        if(isWin) {
-            sql = "UPDATE record SET rating = rating +15, win_count = win_count+1, updated_at = NOW() WHERE user_id = ?";
-        } else {
-            sql = "UPDATE record SET rating = GREATEST(0, rating - 10), lose_count = lose_count + 1, updated_at = NOW() WHERE user_id = ?";
+    private RankingDTO doFindRanking(int userId) throws Exception {
+        String sql = "SELECT u.user_id, u.nickname, r.rating, u.profile_img " +
+                "FROM record r JOIN users u " +
+                "ON r.user_id = u.user_id " +
+                "WHERE r.user_id = ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? toRanking(rs) : null;
+            }
         }
-        try(Connection conn = DBConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql)) {
+    }
 
-            ps.setInt(1, userId);
-            ps.executeUpdate();
-        } catch (Exception e) {
-            e.printStackTrace();
+    private RankingDTO toRanking(ResultSet rs) throws Exception {
+        RankingDTO dto = new RankingDTO();
+        dto.setUserId(rs.getInt("user_id"));
+        dto.setNickname(rs.getString("nickname"));
+        dto.setRating(rs.getInt("rating"));
+        dto.setProfileImg(rs.getString("profile_img"));
+        return dto;
+    }
+
+    private static final String WIN_SQL =
+            "UPDATE record SET rating = rating +15, win_count = win_count+1, updated_at = NOW() WHERE user_id = ?";
+    private static final String LOSE_SQL =
+            "UPDATE record SET rating = GREATEST(0, rating - 10), lose_count = lose_count + 1, updated_at = NOW() WHERE user_id = ?";
+
+    /**
+     * 여러 게임 결과를 JDBC 배치로 반영 (트랜잭션은 호출자가 관리)
+     * - 승/패 UPDATE를 각각 배치로 모아서 DB 왕복 2번으로 끝낸다.
+     */
+    public void applyResults(Connection con, List<GameResultVO> results) throws Exception {
+        SqlCall.timed(APPLY_RESULTS_TIME, () -> {
+            doApplyResults(con, results);
+            return null;
+        });
+    }
+
+    private void doApplyResults(Connection con, List<GameResultVO> results) throws Exception {
+        try (PreparedStatement win = con.prepareStatement(WIN_SQL);
+             PreparedStatement lose = con.prepareStatement(LOSE_SQL)) {
+            for (GameResultVO r : results) {
+                win.setInt(1, r.getWinnerId());
+                win.addBatch();
+                if (r.getLoserId() != -1) {
+                    lose.setInt(1, r.getLoserId());
+                    lose.addBatch();
+                }
+            }
+            win.executeBatch();
+            lose.executeBatch();
         }
     }
 
+    // 여러 유저의 현재 레이팅 (userId -> rating)
+    public Map<Integer, Integer> findRatings(Connection con, Collection<Integer> userIds) throws Exception {
+        return SqlCall.timed(FIND_RATINGS_TIME, () -> doFindRatings(con, userIds));
+    }
+
+    private Map<Integer, Integer> doFindRatings(Connection con, Collection<Integer> userIds) throws Exception {
+        Map<Integer, Integer> ratings = new HashMap<>();
+        String sql = "SELECT user_id, rating FROM record WHERE user_id = ANY(?)";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setArray(1, con.createArrayOf("integer", userIds.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ratings.put(rs.getInt("user_id"), rs.getInt("rating"));
+                }
+            }
+        }
+        return ratings;
+    }
+
     //회원가입 시 레코드 기본값세팅
     public void insertRecordDefault(Connection con, int userId) throws Exception {
+        SqlCall.timed(INSERT_RECORD_DEFAULT_TIME, () -> {
+            doInsertRecordDefault(con, userId);
+            return null;
+        });
+    }
+
+    private void doInsertRecordDefault(Connection con, int userId) throws Exception {
         String sql = "INSERT INTO record (user_id) VALUES (?)";
         try (PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setInt(1, userId);
@@ -0,0 +1,133 @@
+package team.omok.omok_mini_project.repository;
+
+import team.omok.omok_mini_project.domain.vo.RoomSnapshotVO;
+import team.omok.omok_mini_project.enums.Stone;
+import team.omok.omok_mini_project.util.BinaryCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 진행 중인 방 스냅샷 파일 (저널 디렉터리의 rooms.snap)
+ * <p>
+ * - 매번 전체를 새로 쓰고(tmp 파일 + fsync) rename으로 교체한다. (쓰다 죽어도 이전 스냅샷은 남음)
+ * - 보드는 칸당 2비트로 묶어 방 1개가 약 100바이트. (BinaryCodec.packCells, BOARD_SNAPSHOT과 같은 배치)
+ * <p>
+ * 형식 (big-endian):
+ * magic(4) version(2) takenAt(8) count(4)
+ * 방마다: roomId.msb(8) roomId.lsb(8) createdAt(8) black(4) white(4) turn(1) moveNumber(4) remainingMs(4) board(57)
+ */
+public class RoomSnapshotStore {
+    private static final int MAGIC = 0x4F4D4B53;   // "OMKS"
+    private static final short VERSION = 1;
+    private static final int PACKED_BYTES = BinaryCodec.PACKED_BOARD_BYTES;
+    private static final String FILE_NAME = "rooms.snap";
+
+    private final Path file;
+
+    public RoomSnapshotStore(Path dir) {
+        this.file = dir.resolve(FILE_NAME);
+    }
+
+    /**
+     * 스냅샷 저장
+     *
+     * @return 쓴 바이트 수
+     */
+    public long write(long takenAt, List<RoomSnapshotVO> rooms) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(takenAt);
+            out.writeInt(rooms.size());
+
+            byte[] packed = new byte[PACKED_BYTES];
+            for (RoomSnapshotVO r : rooms) {
+                UUID id = UUID.fromString(r.getRoomId());
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+                out.writeLong(r.getCreatedAt());
+                out.writeInt(r.getBlackUserId());
+                out.writeInt(r.getWhiteUserId());
+                out.writeByte(r.getTurn().ordinal());
+                out.writeInt(r.getMoveNumber());
+                out.writeInt((int) r.getRemainingMs());
+                BinaryCodec.packCells(r.getCells(), packed);
+                out.write(packed);
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    /**
+     * 마지막 스냅샷 읽기
+     *
+     * @return 파일이 없으면 null
+     */
+    public Snapshot read() throws IOException {
+        if (!Files.exists(file)) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("unknown snapshot format: " + file);
+            }
+            long takenAt = in.readLong();
+            int count = in.readInt();
+
+            Stone[] stones = Stone.values();
+            byte[] packed = new byte[PACKED_BYTES];
+            List<RoomSnapshotVO> rooms = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                RoomSnapshotVO r = new RoomSnapshotVO();
+                r.setRoomId(id.toString());
+                r.setCreatedAt(in.readLong());
+                r.setBlackUserId(in.readInt());
+                r.setWhiteUserId(in.readInt());
+                r.setTurn(stones[in.readByte()]);
+                r.setMoveNumber(in.readInt());
+                r.setRemainingMs(in.readInt());
+                in.readFully(packed);
+                r.setCells(BinaryCodec.unpackCells(packed));
+                rooms.add(r);
+            }
+            return new Snapshot(takenAt, rooms);
+        }
+    }
+
+    public static final class Snapshot {
+        private final long takenAt;
+        private final List<RoomSnapshotVO> rooms;
+
+        Snapshot(long takenAt, List<RoomSnapshotVO> rooms) {
+            this.takenAt = takenAt;
+            this.rooms = rooms;
+        }
+
+        public long getTakenAt() {
+            return takenAt;
+        }
+
+        public List<RoomSnapshotVO> getRooms() {
+            return rooms;
+        }
+    }
+}
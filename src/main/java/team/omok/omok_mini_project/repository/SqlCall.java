@@ -0,0 +1,22 @@
+package team.omok.omok_mini_project.repository;
+
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+
+/**
+ * DAO 메서드 본문 (소요 시간 기록용)
+ * - timed로 감싸서 DB 호출 1번의 소요 시간(커넥션 대기 포함)을 LatencyRecorder에 남긴다.
+ */
+@FunctionalInterface
+interface SqlCall<T, E extends Exception> {
+
+    T call() throws E;
+
+    static <T, E extends Exception> T timed(LatencyRecorder timer, SqlCall<T, E> call) throws E {
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            timer.recordSince(start);
+        }
+    }
+}
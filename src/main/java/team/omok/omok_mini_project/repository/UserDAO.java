@@ -2,6 +2,8 @@ package team.omok.omok_mini_project.repository;
 
 import team.omok.omok_mini_project.domain.vo.RecordVO;
 import team.omok.omok_mini_project.domain.vo.UserVO;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
 import team.omok.omok_mini_project.util.DBConnection;
 
 import java.sql.Connection;
@@ -10,6 +12,13 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 
 public class UserDAO {
+    // 메서드별 DB 소요 시간 (커넥션 대기 포함)
+    private static final LatencyRecorder FIND_BY_USER_ID_TIME = Metrics.timer("dao.user.findByUserId");
+    private static final LatencyRecorder FIND_BY_LOGIN_ID_TIME = Metrics.timer("dao.user.findByLoginId");
+    private static final LatencyRecorder EXISTS_BY_LOGIN_ID_TIME = Metrics.timer("dao.user.existsByLoginId");
+    private static final LatencyRecorder EXISTS_BY_NICKNAME_TIME = Metrics.timer("dao.user.existsByNickname");
+    private static final LatencyRecorder INSERT_USER_TIME = Metrics.timer("dao.user.insertUser");
+
     //    private DataSource ds;  //일단 Connection으로 하기로함
 
     //    public UserDAO(DataSource ds) {
@@ -17,6 +26,10 @@ public class UserDAO {
 
 
     public UserVO findByUserId(int userId) throws Exception {
+        return SqlCall.timed(FIND_BY_USER_ID_TIME, () -> doFindByUserId(userId));
+    }
+
+    private UserVO doFindByUserId(int userId) throws Exception {
         String sql = """
         SELECT u.user_id, u.login_id, u.user_pwd, u.created_at, u.nickname, u.profile_img,
                r.rating, r.win_count, r.lose_count, r.updated_at
@@ -59,6 +72,10 @@ public class UserDAO {
     }
 
     public UserVO findByLoginId(String loginId) throws Exception {
+        return SqlCall.timed(FIND_BY_LOGIN_ID_TIME, () -> doFindByLoginId(loginId));
+    }
+
+    private UserVO doFindByLoginId(String loginId) throws Exception {
         String sql = """
             SELECT u.user_id, u.login_id, u.user_pwd, u.created_at, u.nickname, u.profile_img,
                    r.rating, r.win_count, r.lose_count, r.updated_at
@@ -100,6 +117,10 @@ public class UserDAO {
     }
 
     public boolean existsByLoginId(String loginId) throws Exception {
+        return SqlCall.timed(EXISTS_BY_LOGIN_ID_TIME, () -> doExistsByLoginId(loginId));
+    }
+
+    private boolean doExistsByLoginId(String loginId) throws Exception {
         String sql = "SELECT 1 FROM users WHERE login_id=?";
         try (Connection con = DBConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(sql)) {
@@ -110,6 +131,10 @@ public class UserDAO {
     }
 
     public boolean existsByNickname(String nickname) throws Exception {
+        return SqlCall.timed(EXISTS_BY_NICKNAME_TIME, () -> doExistsByNickname(nickname));
+    }
+
+    private boolean doExistsByNickname(String nickname) throws Exception {
         String sql = "SELECT 1 FROM users WHERE nickname=?";
         try (Connection con = DBConnection.getConnection();
              PreparedStatement ps = con.prepareStatement(sql)) {
@@ -121,6 +146,10 @@ public class UserDAO {
 
     //유저생성
     public int insertUser(Connection con, UserVO user) throws Exception {
+        return SqlCall.timed(INSERT_USER_TIME, () -> doInsertUser(con, user));
+    }
+
+    private int doInsertUser(Connection con, UserVO user) throws Exception {
         String sql = """
         INSERT INTO users (login_id, user_pwd, nickname, profile_img)
         VALUES (?, ?, ?, ?)
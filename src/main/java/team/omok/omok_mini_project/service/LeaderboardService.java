@@ -0,0 +1,199 @@
+package team.omok.omok_mini_project.service;
+
+import team.omok.omok_mini_project.domain.dto.RankingDTO;
+import team.omok.omok_mini_project.repository.RecordDAO;
+import team.omok.omok_mini_project.util.JsonUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 랭킹 (TOP 10)
+ * <p>
+ * - DB에서 처음 1번만 상위 BUFFER명을 읽어두고, 이후에는 레이팅이 바뀔 때마다 메모리에서 갱신한다.
+ * - TOP 10 아래로 몇 명을 더 들고 있어서, 10위 안의 유저가 떨어져도 다시 조회하지 않고 채운다.
+ * - 모르는 유저(BUFFER 밖)는 항상 들고 있는 최저 레이팅 이하라는 전제로 관리한다.
+ *   그 유저가 최저 레이팅을 넘으면 그 1명만 조회해서 넣고, 목록이 TOP 아래로 줄면 다시 적재한다.
+ * - TOP 10이 바뀌었을 때만 version을 올리고 RANKING 프레임(JSON)을 다시 만든다.
+ */
+public class LeaderboardService {
+    private static final LeaderboardService instance = new LeaderboardService();
+
+    private static final int TOP = 10;
+    private static final int BUFFER = 20;
+
+    private static final Comparator<RankingDTO> BY_RATING =
+            Comparator.comparingInt(RankingDTO::getRating).reversed();
+
+    private final RecordDAO recordDAO = new RecordDAO();
+
+    // 아래 필드는 this 락으로 보호
+    private final List<RankingDTO> entries = new ArrayList<>();   // 레이팅 내림차순
+    private boolean loaded;
+    private boolean complete;          // 전체 유저가 entries 안에 다 있음 (유저 수 < BUFFER)
+    private List<RankingDTO> top = List.of();
+    private String frame;
+    private long version;
+
+    public static LeaderboardService getInstance() {
+        return instance;
+    }
+
+    /// ////////////// 조회 ////////////////////
+
+    // 현재 TOP 10 (복사본)
+    public synchronized List<RankingDTO> getTopRankings() {
+        ensureLoaded();
+        List<RankingDTO> copy = new ArrayList<>();
+        for (RankingDTO dto : top) {
+            copy.add(copyOf(dto));
+        }
+        return copy;
+    }
+
+    // 미리 직렬화한 RANKING 메시지 {"type":"RANKING","rankings":[...]}
+    public synchronized String getRankingFrame() {
+        ensureLoaded();
+        return frame;
+    }
+
+    // TOP 10이 바뀔 때마다 1씩 증가
+    public synchronized long getVersion() {
+        ensureLoaded();
+        return version;
+    }
+
+    /// ////////////// 갱신 ////////////////////
+
+    /**
+     * 전적 반영(DB 커밋) 후 호출
+     *
+     * @return TOP 10이 바뀌었으면 true
+     */
+    public synchronized boolean onRatingChanged(int userId, int rating) {
+        if (!ensureLoaded()) return false;
+
+        RankingDTO entry = find(userId);
+        if (entry != null) {
+            entry.setRating(rating);
+            entries.sort(BY_RATING);
+            // 들고 있는 범위 밑으로 떨어지면 순서를 보장할 수 없으니 뺀다
+            if (!complete && entries.get(entries.size() - 1) == entry && entries.size() > 1
+                    && rating < entries.get(entries.size() - 2).getRating()) {
+                entries.remove(entries.size() - 1);
+            }
+        } else if (complete || entries.isEmpty() || rating > lowestRating()) {
+            RankingDTO fetched = fetch(userId);
+            if (fetched == null) return false;
+            fetched.setRating(rating);
+            entries.add(fetched);
+            entries.sort(BY_RATING);
+            if (entries.size() > BUFFER) {
+                entries.remove(entries.size() - 1);
+                complete = false;
+            }
+        } else {
+            return false;
+        }
+
+        if (!complete && entries.size() < TOP) {
+            reload();
+        }
+        return publish();
+    }
+
+    // DB에서 다시 적재 (일괄 반영 후 등)
+    public synchronized boolean refresh() {
+        if (!reload()) return false;
+        return publish();
+    }
+
+    /// ////////////// 내부 ////////////////////
+
+    private boolean ensureLoaded() {
+        if (loaded) return true;
+        if (!reload()) return false;
+        publish();
+        return true;
+    }
+
+    private boolean reload() {
+        try {
+            List<RankingDTO> list = recordDAO.findTopRank(BUFFER);
+            entries.clear();
+            entries.addAll(list);
+            complete = list.size() < BUFFER;
+            loaded = true;
+            return true;
+        } catch (Exception e) {
+            // 실패하면 다음 호출 때 다시 시도
+            System.out.println("[WARN] LeaderboardService load failed: " + e.getMessage());
+            if (frame == null) {
+                frame = toFrame(List.of());
+            }
+            return false;
+        }
+    }
+
+    // TOP 10 다시 계산, 바뀌었으면 version 증가 + 프레임 재생성
+    private boolean publish() {
+        List<RankingDTO> next = new ArrayList<>();
+        for (int i = 0; i < Math.min(TOP, entries.size()); i++) {
+            RankingDTO dto = copyOf(entries.get(i));
+            dto.setRank(i + 1);
+            next.add(dto);
+        }
+
+        if (frame != null && next.equals(top)) {
+            return false;
+        }
+        top = next;
+        frame = toFrame(next);
+        version++;
+        return true;
+    }
+
+    private RankingDTO find(int userId) {
+        for (RankingDTO dto : entries) {
+            if (dto.getUserId() == userId) return dto;
+        }
+        return null;
+    }
+
+    private int lowestRating() {
+        return entries.get(entries.size() - 1).getRating();
+    }
+
+    private RankingDTO fetch(int userId) {
+        try {
+            return recordDAO.findRanking(userId);
+        } catch (Exception e) {
+            System.out.println("[WARN] LeaderboardService fetch failed: userId=" + userId + ", " + e.getMessage());
+            return null;
+        }
+    }
+
+    private RankingDTO copyOf(RankingDTO src) {
+        RankingDTO dto = new RankingDTO();
+        dto.setRank(src.getRank());
+        dto.setUserId(src.getUserId());
+        dto.setNickname(src.getNickname());
+        dto.setRating(src.getRating());
+        dto.setProfileImg(src.getProfileImg());
+        return dto;
+    }
+
+    private String toFrame(List<RankingDTO> rankings) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "RANKING");
+        message.put("rankings", rankings);
+        try {
+            return JsonUtil.MAPPER.writeValueAsString(message);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
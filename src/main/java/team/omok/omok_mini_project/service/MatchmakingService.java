@@ -0,0 +1,306 @@
+package team.omok.omok_mini_project.service;
+
+import team.omok.omok_mini_project.domain.Room;
+import team.omok.omok_mini_project.manager.RoomManager;
+import team.omok.omok_mini_project.util.JsonUtil;
+import team.omok.omok_mini_project.util.SessionOutbox;
+
+import javax.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레이팅 기반 매칭 큐
+ * <p>
+ * - 로비에서 MATCH_JOIN 한 유저를 레이팅 구간(BUCKET_WIDTH) 별로 모아둔다.
+ * - TICK_MS마다 오래 기다린 유저부터 허용 범위 안에서 레이팅이 가장 가까운 상대를 찾는다.
+ *   허용 범위는 BASE_BAND에서 시작해서 기다린 시간만큼 넓어진다. (최대 MAX_BAND)
+ * - 짝이 생겼을 때만 방을 만들고(RoomManager.createRoom) 두 명을 플레이어로 넣은 뒤
+ *   각자의 로비 세션으로 MATCH_FOUND {roomId}를 보낸다.
+ * - 큐 길이, 대기 시간 분위수(p50/p90/p99), tick당 매칭 수를 지표로 제공한다.
+ * <p>
+ * 큐 상태는 this 락으로 보호한다. (로비 WS 스레드의 join/cancel vs 매칭 tick)
+ */
+public class MatchmakingService {
+    private static final MatchmakingService instance = new MatchmakingService();
+
+    private static final long TICK_MS = 1_000;
+    private static final int BUCKET_WIDTH = 50;
+    private static final int BASE_BAND = 50;
+    private static final int BAND_STEP = 25;            // WIDEN_EVERY_MS 마다 늘어나는 범위
+    private static final long WIDEN_EVERY_MS = 5_000;
+    private static final int MAX_BAND = 400;
+    private static final int DEFAULT_RATING = 1000;
+    private static final int WAIT_SAMPLES = 1024;
+
+    private final RoomManager roomManager = RoomManager.getInstance();
+    private final UserService userService = new UserService();
+
+    // 레이팅 구간 -> 대기열 (먼저 온 순서)
+    private final TreeMap<Integer, ArrayDeque<Ticket>> buckets = new TreeMap<>();
+    // userId -> 대기 표 (중복 등록/취소용)
+    private final Map<Integer, Ticket> tickets = new HashMap<>();
+
+    // 지표 (this 락으로 보호)
+    private final long[] waitSamples = new long[WAIT_SAMPLES];   // 최근 매칭된 유저 대기 시간(ms)
+    private int waitSampleCount;
+    private long tickCount;
+    private long matchCount;
+    private int lastTickMatches;
+
+    private MatchmakingService() {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "omok-matchmaker");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::tickSafe, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static MatchmakingService getInstance() {
+        return instance;
+    }
+
+    /// ////////////// 로비 요청 ////////////////////
+
+    /**
+     * 매칭 대기 등록 (이미 대기 중이면 세션만 갱신)
+     * - 레이팅은 프로필 캐시에서 읽는다. (DB에 없는 유저는 기본값)
+     */
+    public void join(int userId, Session session) {
+        int rating = lookupRating(userId);
+
+        synchronized (this) {
+            Ticket existing = tickets.get(userId);
+            if (existing != null) {
+                existing.session = session;
+            } else {
+                Ticket t = new Ticket(userId, rating, session, System.currentTimeMillis());
+                tickets.put(userId, t);
+                buckets.computeIfAbsent(bucketOf(rating), k -> new ArrayDeque<>()).addLast(t);
+            }
+        }
+
+        send(session, Map.of("type", "MATCH_QUEUED", "rating", rating));
+    }
+
+    // 매칭 취소 (로비 퇴장 시에도 호출)
+    public void cancel(int userId, Session session) {
+        boolean removed;
+        synchronized (this) {
+            Ticket t = tickets.get(userId);
+            // 다른 탭(세션)의 대기는 건드리지 않음
+            removed = t != null && (session == null || t.session == session) && remove(t);
+        }
+        if (removed && session != null && session.isOpen()) {
+            send(session, Map.of("type", "MATCH_CANCELLED"));
+        }
+    }
+
+    /// ////////////// 매칭 ////////////////////
+
+    private void tickSafe() {
+        try {
+            tick();
+        } catch (Throwable t) {
+            System.out.println("[WARN] Matchmaking tick failed: " + t);
+            t.printStackTrace();
+        }
+    }
+
+    // 이번 tick에 만들 짝을 큐에서 빼고, 방 생성/알림은 락 밖에서
+    void tick() {
+        long now = System.currentTimeMillis();
+        List<Ticket[]> pairs = new ArrayList<>();
+
+        synchronized (this) {
+            tickCount++;
+            List<Ticket> byWait = new ArrayList<>(tickets.values());
+            byWait.sort(Comparator.comparingLong(t -> t.enqueuedAt));
+
+            for (Ticket t : byWait) {
+                if (t.matched) continue;
+                if (t.session == null || !t.session.isOpen()) {
+                    remove(t);
+                    continue;
+                }
+                Ticket other = findPartner(t, now);
+                if (other == null) continue;
+
+                remove(t);
+                remove(other);
+                t.matched = other.matched = true;
+                pairs.add(new Ticket[]{t, other});
+                recordWait(now - t.enqueuedAt);
+                recordWait(now - other.enqueuedAt);
+            }
+
+            lastTickMatches = pairs.size();
+            matchCount += pairs.size();
+        }
+
+        for (Ticket[] pair : pairs) {
+            startMatch(pair[0], pair[1]);
+        }
+    }
+
+    // t의 허용 범위 안에서 레이팅이 가장 가까운 상대 (같으면 먼저 온 사람)
+    private Ticket findPartner(Ticket t, long now) {
+        int band = bandOf(t, now);
+        Ticket best = null;
+        int bestDiff = Integer.MAX_VALUE;
+
+        for (ArrayDeque<Ticket> bucket :
+                buckets.subMap(bucketOf(t.rating - MAX_BAND), true, bucketOf(t.rating + MAX_BAND), true).values()) {
+            for (Ticket c : bucket) {
+                if (c == t || c.matched || c.session == null || !c.session.isOpen()) continue;
+                int diff = Math.abs(c.rating - t.rating);
+                // 둘 중 더 오래 기다린 쪽의 범위까지 허용
+                if (diff > Math.max(band, bandOf(c, now))) continue;
+                if (diff < bestDiff || (diff == bestDiff && c.enqueuedAt < best.enqueuedAt)) {
+                    best = c;
+                    bestDiff = diff;
+                }
+            }
+        }
+        return best;
+    }
+
+    // 방 만들고 두 명 입장시킨 뒤 알림
+    private void startMatch(Ticket a, Ticket b) {
+        try {
+            // 두 명 다 앉힌 뒤에 등록/공개 (빠른 입장이나 로비 클릭이 b 자리를 가져갈 틈이 없게)
+            Room room = roomManager.createRoom(a.userId, b.userId);
+
+            System.out.println("[INFO] Matchmaking - match: " + a.userId + "(" + a.rating + ") vs "
+                    + b.userId + "(" + b.rating + ") -> " + room.getRoomId());
+
+            send(a.session, Map.of("type", "MATCH_FOUND", "roomId", room.getRoomId(), "opponentRating", b.rating));
+            send(b.session, Map.of("type", "MATCH_FOUND", "roomId", room.getRoomId(), "opponentRating", a.rating));
+        } catch (Exception e) {
+            System.out.println("[WARN] Matchmaking - start failed: " + e.getMessage());
+            send(a.session, Map.of("type", "MATCH_CANCELLED", "reason", "ERROR"));
+            send(b.session, Map.of("type", "MATCH_CANCELLED", "reason", "ERROR"));
+        }
+    }
+
+    /// ////////////// 내부 ////////////////////
+
+    private boolean remove(Ticket t) {
+        if (tickets.get(t.userId) != t) return false;
+        tickets.remove(t.userId);
+        ArrayDeque<Ticket> bucket = buckets.get(bucketOf(t.rating));
+        if (bucket != null) {
+            bucket.remove(t);
+            if (bucket.isEmpty()) buckets.remove(bucketOf(t.rating));
+        }
+        return true;
+    }
+
+    private int bucketOf(int rating) {
+        return Math.floorDiv(rating, BUCKET_WIDTH);
+    }
+
+    private int bandOf(Ticket t, long now) {
+        long waited = now - t.enqueuedAt;
+        return (int) Math.min(MAX_BAND, BASE_BAND + (waited / WIDEN_EVERY_MS) * BAND_STEP);
+    }
+
+    private int lookupRating(int userId) {
+        try {
+            var user = userService.getUserById(userId);
+            if (user != null && user.getRecord() != null) {
+                return user.getRecord().getRating();
+            }
+        } catch (Exception e) {
+            System.out.println("[WARN] Matchmaking - rating lookup failed: userId=" + userId);
+        }
+        return DEFAULT_RATING;
+    }
+
+    private void recordWait(long ms) {
+        waitSamples[waitSampleCount % WAIT_SAMPLES] = ms;
+        waitSampleCount++;
+    }
+
+    private void send(Session session, Map<String, Object> message) {
+        if (session == null) return;
+        try {
+            String type = String.valueOf(message.get("type"));
+            SessionOutbox.send(session, type, JsonUtil.MAPPER.writeValueAsString(message),
+                    SessionOutbox.Priority.CRITICAL);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public synchronized int getQueueLength() {
+        return tickets.size();
+    }
+
+    public synchronized long getTickCount() {
+        return tickCount;
+    }
+
+    public synchronized long getMatchCount() {
+        return matchCount;
+    }
+
+    public synchronized int getLastTickMatches() {
+        return lastTickMatches;
+    }
+
+    public synchronized double getMatchesPerTick() {
+        return tickCount == 0 ? 0 : (double) matchCount / tickCount;
+    }
+
+    /**
+     * 최근 매칭된 유저들의 대기 시간 분위수(ms)
+     *
+     * @param p 0.0 ~ 1.0 (예: 0.5, 0.9, 0.99)
+     */
+    public synchronized long getWaitPercentileMs(double p) {
+        int n = Math.min(waitSampleCount, WAIT_SAMPLES);
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(waitSamples, n);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(p * n) - 1;
+        return sorted[Math.max(0, Math.min(n - 1, idx))];
+    }
+
+    // 현재 대기 중인 유저 중 가장 오래 기다린 시간(ms)
+    public synchronized long getOldestWaitMs() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (Ticket t : tickets.values()) {
+            oldest = Math.max(oldest, now - t.enqueuedAt);
+        }
+        return oldest;
+    }
+
+    private static final class Ticket {
+        final int userId;
+        final int rating;
+        final long enqueuedAt;
+        Session session;
+        boolean matched;
+
+        Ticket(int userId, int rating, Session session, long enqueuedAt) {
+            this.userId = userId;
+            this.rating = rating;
+            this.session = session;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
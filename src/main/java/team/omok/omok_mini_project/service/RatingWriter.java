@@ -0,0 +1,233 @@
+package team.omok.omok_mini_project.service;
+
+import team.omok.omok_mini_project.controller.LobbyWebSocket;
+import team.omok.omok_mini_project.domain.vo.GameResultVO;
+import team.omok.omok_mini_project.repository.RecordDAO;
+import team.omok.omok_mini_project.util.DBConnection;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전적(레이팅/승/패) 지연 일괄 반영 (write-behind)
+ * <p>
+ * - 게임이 끝나면 방 스레드는 결과를 큐에 넣기만 하고 바로 돌아간다. (DB 왕복 없음)
+ * - 전용 스레드가 LINGER_MS 동안 모인 결과를 트랜잭션 1개 + JDBC 배치로 반영한다.
+ *   한 게임의 승/패 반영이 같은 트랜잭션에 들어가므로 한쪽만 반영되는 일이 없다.
+ * - 같은 게임 ID(방 ID)는 한 번만 받는다. (퇴장 + 승리가 겹쳐 handleGameEnd가 두 번 불려도 1번만 반영)
+ * - 반영 후 바뀐 레이팅을 메모리 랭킹에 넣고, TOP 10이 바뀌었으면 로비에 랭킹을 보낸다.
+ * - 실패한 묶음은 MAX_RETRY번까지 다시 시도한다.
+ */
+public class RatingWriter {
+    private static final RatingWriter instance = new RatingWriter();
+
+    private static final long LINGER_MS = 200;
+    private static final int MAX_BATCH = 500;
+    private static final int MAX_RETRY = 3;
+    private static final long SEEN_TTL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final RecordDAO recordDAO = new RecordDAO();
+    private final LeaderboardService leaderboard = LeaderboardService.getInstance();
+    private final UserProfileCache profileCache = UserProfileCache.getInstance();
+
+    private final LinkedBlockingQueue<GameResultVO> queue = new LinkedBlockingQueue<>();
+    // 이미 받은 게임 ID (gameId -> 받은 시각), 오래된 것은 flush 때 정리
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // 지표
+    private final AtomicLong flushedGames = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong droppedGames = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private volatile long lastFlushMs;
+    private volatile long maxFlushMs;
+    private final AtomicLong totalFlushMs = new AtomicLong();
+
+    private RatingWriter() {
+        worker = new Thread(this::run, "omok-rating-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static RatingWriter getInstance() {
+        return instance;
+    }
+
+    /**
+     * 게임 결과 등록 (방 메일박스에서 호출, 바로 리턴)
+     *
+     * @return 처음 받은 게임이면 true, 이미 받은 게임 ID면 false
+     */
+    public boolean submit(GameResultVO result) {
+        if (seen.putIfAbsent(result.getGameId(), System.currentTimeMillis()) != null) {
+            duplicates.incrementAndGet();
+            return false;
+        }
+        queue.offer(result);
+        return true;
+    }
+
+    /// ////////////// 워커 ////////////////////
+
+    private void run() {
+        List<GameResultVO> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                GameResultVO first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    pruneSeen();
+                    continue;
+                }
+                batch.add(first);
+                // 조금 기다렸다가 그 사이 끝난 게임까지 한 번에
+                if (running) {
+                    Thread.sleep(LINGER_MS);
+                }
+                queue.drainTo(batch, MAX_BATCH - 1);
+            } catch (InterruptedException e) {
+                // shutdown: 남은 것까지 반영하고 종료
+                running = false;
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                flushWithRetry(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushWithRetry(List<GameResultVO> batch) {
+        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+            try {
+                flush(batch);
+                return;
+            } catch (Exception e) {
+                failedFlushes.incrementAndGet();
+                System.out.println("[WARN] RatingWriter flush failed (" + attempt + "/" + MAX_RETRY + "): "
+                        + batch.size() + " games, " + e.getMessage());
+                if (attempt < MAX_RETRY && running) {
+                    try {
+                        Thread.sleep(500L * attempt);
+                    } catch (InterruptedException ie) {
+                        running = false;
+                    }
+                }
+            }
+        }
+        droppedGames.addAndGet(batch.size());
+        System.out.println("[ERROR] RatingWriter dropped games: " + batch);
+    }
+
+    private void flush(List<GameResultVO> batch) throws Exception {
+        long start = System.nanoTime();
+
+        Set<Integer> userIds = new LinkedHashSet<>();
+        for (GameResultVO r : batch) {
+            userIds.add(r.getWinnerId());
+            if (r.getLoserId() != -1) userIds.add(r.getLoserId());
+        }
+
+        Map<Integer, Integer> ratings;
+        try (Connection con = DBConnection.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                recordDAO.applyResults(con, batch);
+                ratings = recordDAO.findRatings(con, userIds);
+                con.commit();
+            } catch (Exception e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        }
+
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastFlushMs = ms;
+        maxFlushMs = Math.max(maxFlushMs, ms);
+        totalFlushMs.addAndGet(ms);
+        flushCount.incrementAndGet();
+        flushedGames.addAndGet(batch.size());
+
+        // 전적이 바뀐 유저는 프로필 캐시에서 제거 (로비의 승/패/레이팅 표시용)
+        for (Integer userId : userIds) {
+            profileCache.invalidate(userId);
+        }
+
+        // 커밋된 레이팅을 메모리 랭킹에 반영
+        boolean changed = false;
+        for (Map.Entry<Integer, Integer> e : ratings.entrySet()) {
+            changed |= leaderboard.onRatingChanged(e.getKey(), e.getValue());
+        }
+        if (changed) {
+            LobbyWebSocket.broadcastRanking();
+        }
+    }
+
+    private void pruneSeen() {
+        long cutoff = System.currentTimeMillis() - SEEN_TTL_MS;
+        seen.values().removeIf(t -> t < cutoff);
+    }
+
+    // 애플리케이션 종료 시: 남은 결과 반영 후 워커 종료
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getFlushedGames() {
+        return flushedGames.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    public long getDroppedGames() {
+        return droppedGames.get();
+    }
+
+    public long getDuplicateCount() {
+        return duplicates.get();
+    }
+
+    public long getLastFlushMs() {
+        return lastFlushMs;
+    }
+
+    public long getMaxFlushMs() {
+        return maxFlushMs;
+    }
+
+    public double getAvgFlushMs() {
+        long n = flushCount.get();
+        return n == 0 ? 0 : (double) totalFlushMs.get() / n;
+    }
+}
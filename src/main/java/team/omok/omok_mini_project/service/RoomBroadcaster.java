@@ -2,51 +2,75 @@ package team.omok.omok_mini_project.service;
 
 import team.omok.omok_mini_project.domain.Room;
 import team.omok.omok_mini_project.domain.dto.WsMessage;
-import team.omok.omok_mini_project.util.JsonUtil;
+import team.omok.omok_mini_project.util.EncodedFrame;
+import team.omok.omok_mini_project.util.SessionOutbox;
 
 import javax.websocket.Session;
-import java.io.IOException;
 import java.util.Collection;
 
+/*
+ * 방 단위 메시지 전송.
+ * - WsMessage는 EncodedFrame으로 한 번만 직렬화한 뒤 대상 세션 전체에 같은 문자열을 보낸다.
+ * - 이미 인코딩된 프레임(FrameWriters 등)은 그대로 보낸다.
+ * - 실제 전송은 세션별 비동기 송신 큐(SessionOutbox)에 넣기만 하므로 호출 스레드가 막히지 않는다.
+ * - 플레이어는 호출 스레드에서 바로, 관전자는 방의 SpectatorFanout 샤드로 넘긴다. (항상 플레이어 먼저)
+ */
 public class RoomBroadcaster {
 
     // 방 플레이어들에게만 브로드캐스트
     public void broadcastToPlayers(Room room, WsMessage<?> message) {
-        sendMessage(room.getPlayerSessionMap().values(), message);
+        broadcastToPlayers(room, EncodedFrame.of(message));
+    }
+
+    public void broadcastToPlayers(Room room, EncodedFrame frame) {
+        sendMessage(room.getPlayerSessionMap().values(), frame);
     }
 
     // 방 관전자들에게만 브로드캐스트
     public void broadcastToSpectators(Room room, WsMessage<?> message) {
-        sendMessage(room.getSpectatorSessions(), message);
+        broadcastToSpectators(room, EncodedFrame.of(message));
+    }
+
+    public void broadcastToSpectators(Room room, EncodedFrame frame) {
+        room.getSpectatorFanout().broadcast(frame);
     }
 
-    // 방에 있는 모든 세션에 브로드캐스트
+    // 방에 있는 모든 세션에 브로드캐스트 (직렬화 1회)
     public void broadcastAll(Room room, WsMessage<?> message) {
-        broadcastToPlayers(room, message);
-        broadcastToSpectators(room, message);
+        broadcastAll(room, EncodedFrame.of(message));
+    }
+
+    public void broadcastAll(Room room, EncodedFrame frame) {
+        broadcastToPlayers(room, frame);
+        broadcastToSpectators(room, frame);
     }
 
     // 하나의 세션에만 브로드캐스트
     public void broadcastToSession(Session session, WsMessage<?> message) {
-        try {
-            String json = JsonUtil.MAPPER.writeValueAsString(message);
-            session.getBasicRemote().sendText(json);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        broadcastToSession(session, EncodedFrame.of(message));
+    }
+
+    public void broadcastToSession(Session session, EncodedFrame frame) {
+        SessionOutbox.send(session, frame);
+    }
+
+    // 방 안의 한 세션에만 전송 (관전자면 샤드 큐를 타서 방 브로드캐스트와 순서 유지)
+    public void broadcastToSession(Room room, Session session, WsMessage<?> message) {
+        broadcastToSession(room, session, EncodedFrame.of(message));
+    }
+
+    public void broadcastToSession(Room room, Session session, EncodedFrame frame) {
+        if (room.isSpectator(session)) {
+            room.getSpectatorFanout().sendTo(session, frame);
+        } else {
+            SessionOutbox.send(session, frame);
         }
     }
 
     // 메세지 전달
-    private void sendMessage(Collection<Session> sessions, Object message) {
-        try {
-            String json = JsonUtil.MAPPER.writeValueAsString(message);
-            for (Session s : sessions) {
-                if (s != null && s.isOpen()) {
-                    s.getBasicRemote().sendText(json);
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    private void sendMessage(Collection<Session> sessions, EncodedFrame frame) {
+        for (Session s : sessions) {
+            SessionOutbox.send(s, frame);
         }
     }
 
@@ -0,0 +1,314 @@
+package team.omok.omok_mini_project.service;
+
+import team.omok.omok_mini_project.domain.GameState;
+import team.omok.omok_mini_project.domain.Room;
+import team.omok.omok_mini_project.domain.vo.RoomSnapshotVO;
+import team.omok.omok_mini_project.enums.RoomStatus;
+import team.omok.omok_mini_project.enums.Stone;
+import team.omok.omok_mini_project.manager.RoomManager;
+import team.omok.omok_mini_project.repository.MoveJournal;
+import team.omok.omok_mini_project.repository.RoomSnapshotStore;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 진행 중인 방 스냅샷 + 재시작 복구
+ * <p>
+ * - SNAPSHOT_INTERVAL_SEC마다 PLAYING 방의 판/턴/플레이어/남은 시간을 각 방 메일박스에서 떠서 파일로 저장한다.
+ *   저장이 끝나면 그 스냅샷 이후 재생에 필요 없는 저널 세그먼트를 지운다.
+ * - 서버 시작 시 마지막 스냅샷을 읽고, 그 뒤에 저널에 남은 이벤트(시작/착수/시간초과/종료)를 이어서 재생한 뒤
+ *   RoomManager에 방을 다시 등록한다. 플레이어가 다시 접속하면 BOARD_SNAPSHOT으로 이어서 둔다.
+ * - 재접속할 시간을 주려고 복구된 턴은 최소 RESUME_GRACE_MS를 준다.
+ * - 복구 시간은 로그로 남기고, RECOVERY_BUDGET_MS를 넘으면 경고한다.
+ */
+public class RoomRecoveryService {
+    private static final RoomRecoveryService instance = new RoomRecoveryService();
+
+    private static final long SNAPSHOT_INTERVAL_SEC = 10;
+    private static final long SNAPSHOT_WAIT_MS = 2_000;
+    // 저널 시각은 큐에 넣은 시점이라 스냅샷 시각 앞쪽 조금까지 같이 읽는다 (이미 반영된 수는 moveNo로 걸러짐)
+    private static final long REPLAY_SLACK_MS = 2_000;
+    private static final long RESUME_GRACE_MS = 15_000;
+    private static final long TURN_LIMIT_MS = 30_000;
+    static final long RECOVERY_BUDGET_MS = 5_000;     // RoomRecoveryBenchmarkTest가 같은 값으로 검증
+
+    private final RoomManager roomManager = RoomManager.getInstance();
+    private final RoomService roomService = new RoomService();
+    private final RoomSnapshotStore store = new RoomSnapshotStore(MoveJournal.journalDir());
+    private ScheduledExecutorService scheduler;
+
+    // 지표
+    private volatile long lastRecoveryMs;
+    private volatile int lastRecoveredRooms;
+    private volatile long lastReplayedEvents;
+    private volatile long lastSnapshotMs;
+    private volatile int lastSnapshotRooms;
+    private volatile long lastSnapshotBytes;
+
+    public static RoomRecoveryService getInstance() {
+        return instance;
+    }
+
+    /// ////////////// 스냅샷 ////////////////////
+
+    public synchronized void startSnapshots() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "omok-room-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotSafe,
+                SNAPSHOT_INTERVAL_SEC, SNAPSHOT_INTERVAL_SEC, TimeUnit.SECONDS);
+    }
+
+    // 애플리케이션 종료 시: 주기 스냅샷 중지 + 마지막으로 한 번 저장
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        snapshotSafe();
+    }
+
+    private void snapshotSafe() {
+        try {
+            snapshotNow();
+        } catch (Exception e) {
+            System.out.println("[WARN] RoomRecovery snapshot failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 지금 PLAYING인 방 전체 스냅샷 저장
+     * - 방 상태는 각 방 메일박스에서 읽는다. (착수 도중의 판을 읽지 않음)
+     */
+    public void snapshotNow() throws Exception {
+        long start = System.nanoTime();
+        long takenAt = System.currentTimeMillis();
+
+        List<Room> playing = new ArrayList<>();
+        for (Room room : roomManager.getAllRooms()) {
+            if (room.getStatus() == RoomStatus.PLAYING) playing.add(room);
+        }
+
+        Queue<RoomSnapshotVO> snapshots = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(playing.size());
+        for (Room room : playing) {
+            room.execute(() -> {
+                try {
+                    RoomSnapshotVO s = room.snapshot();
+                    if (s != null) snapshots.add(s);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        boolean complete = done.await(SNAPSHOT_WAIT_MS, TimeUnit.MILLISECONDS);
+        if (!complete) {
+            System.out.println("[WARN] RoomRecovery snapshot - some rooms did not answer in " + SNAPSHOT_WAIT_MS + "ms");
+        }
+
+        List<RoomSnapshotVO> list = new ArrayList<>(snapshots);
+        lastSnapshotBytes = store.write(takenAt, list);
+        // 빠진 방이 있으면 그 방은 저널로만 복구되므로 세그먼트를 남겨둔다
+        if (complete) {
+            MoveJournal.getInstance().deleteSegmentsBefore(takenAt - REPLAY_SLACK_MS);
+        }
+        lastSnapshotRooms = list.size();
+        lastSnapshotMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /// ////////////// 복구 ////////////////////
+
+    /**
+     * 서버 시작 시 1번: 스냅샷 + 저널 재생으로 진행 중이던 방 복구
+     *
+     * @return 복구한 방 수
+     */
+    public int recover() {
+        long start = System.nanoTime();
+        Path dir = MoveJournal.journalDir();
+
+        Map<String, Replay> games = new HashMap<>();
+        Set<String> ended = new HashSet<>();
+        long since = Long.MIN_VALUE;
+        long[] lastActivity = {0};
+        long events;
+
+        try {
+            RoomSnapshotStore.Snapshot snapshot = store.read();
+            if (snapshot != null) {
+                for (RoomSnapshotVO s : snapshot.getRooms()) {
+                    games.put(s.getRoomId(), new Replay(s, snapshot.getTakenAt()));
+                }
+                since = snapshot.getTakenAt() - REPLAY_SLACK_MS;
+                lastActivity[0] = snapshot.getTakenAt();
+            }
+            events = MoveJournal.readSince(dir, since, e -> {
+                lastActivity[0] = Math.max(lastActivity[0], e.getTimestamp());
+                apply(games, ended, e);
+            });
+        } catch (Exception e) {
+            System.out.println("[WARN] RoomRecovery failed, starting empty: " + e.getMessage());
+            e.printStackTrace();
+            return 0;
+        }
+
+        // 서버가 살아 있던 마지막 시점보다 한 턴 이상 조용했던 게임은 이미 시간초과로 끝났어야 함
+        // (종료 기록이 빠진 오래된 게임을 되살리지 않음)
+        long staleBefore = lastActivity[0] - TURN_LIMIT_MS;
+
+        int restored = 0;
+        for (Replay game : games.values()) {
+            if (game.broken || game.isDecided() || game.activeAt < staleBefore) continue;
+            if (roomManager.getRoomById(game.snapshot.getRoomId()) != null) continue;
+
+            RoomSnapshotVO s = game.snapshot;
+            s.setRemainingMs(Math.max(s.getRemainingMs(), RESUME_GRACE_MS));
+            roomService.restoreRoom(s);
+            restored++;
+        }
+
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastRecoveryMs = ms;
+        lastRecoveredRooms = restored;
+        lastReplayedEvents = events;
+
+        System.out.println("[INFO] RoomRecovery - restored " + restored + " rooms (replayed "
+                + events + " journal events) in " + ms + "ms");
+        if (ms > RECOVERY_BUDGET_MS) {
+            System.out.println("[WARN] RoomRecovery took " + ms + "ms (budget " + RECOVERY_BUDGET_MS + "ms)");
+        }
+        return restored;
+    }
+
+    // 저널 이벤트 1개 반영
+    private void apply(Map<String, Replay> games, Set<String> ended, MoveJournal.Entry e) {
+        String roomId = e.getRoomId();
+        switch (e.getType()) {
+            case MoveJournal.GAME_START -> {
+                if (!games.containsKey(roomId) && !ended.contains(roomId)) {
+                    games.put(roomId, new Replay(roomId, e.getA(), e.getB(), e.getTimestamp()));
+                }
+            }
+            case MoveJournal.MOVE -> {
+                Replay game = games.get(roomId);
+                if (game != null) game.move(e);
+            }
+            case MoveJournal.TIMEOUT, MoveJournal.GAME_END -> {
+                games.remove(roomId);
+                ended.add(roomId);
+            }
+            default -> {
+            }
+        }
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public long getLastRecoveryMs() {
+        return lastRecoveryMs;
+    }
+
+    public int getLastRecoveredRooms() {
+        return lastRecoveredRooms;
+    }
+
+    public long getLastReplayedEvents() {
+        return lastReplayedEvents;
+    }
+
+    public long getLastSnapshotMs() {
+        return lastSnapshotMs;
+    }
+
+    public int getLastSnapshotRooms() {
+        return lastSnapshotRooms;
+    }
+
+    public long getLastSnapshotBytes() {
+        return lastSnapshotBytes;
+    }
+
+    // 복구 중인 방 1개 (스냅샷 위에 저널 착수를 이어 붙임)
+    private static final class Replay {
+        private static final int SIZE = GameState.SIZE;
+
+        final RoomSnapshotVO snapshot;
+        boolean broken;         // 중간 수가 빠져서 이어 붙일 수 없음
+        long activeAt;          // 마지막으로 살아 있던 시각 (스냅샷/시작/착수)
+        int lastX = -1;
+        int lastY = -1;
+        Stone lastColor;
+
+        Replay(RoomSnapshotVO snapshot, long takenAt) {
+            this.snapshot = snapshot;
+            this.activeAt = takenAt;
+        }
+
+        Replay(String roomId, int blackUserId, int whiteUserId, long startedAt) {
+            byte[] cells = new byte[SIZE * SIZE];
+            Arrays.fill(cells, (byte) Stone.EMPTY.ordinal());
+            this.snapshot = new RoomSnapshotVO(roomId, startedAt, blackUserId, whiteUserId,
+                    Stone.BLACK, 0, TURN_LIMIT_MS, cells);
+            this.activeAt = startedAt;
+        }
+
+        void move(MoveJournal.Entry e) {
+            if (broken || e.getMoveNo() <= snapshot.getMoveNumber()) return;   // 스냅샷에 이미 있음
+            if (e.getMoveNo() != snapshot.getMoveNumber() + 1) {
+                broken = true;
+                System.out.println("[WARN] RoomRecovery - missing move before " + e.getMoveNo()
+                        + " in " + snapshot.getRoomId());
+                return;
+            }
+            snapshot.getCells()[e.getY() * SIZE + e.getX()] = (byte) e.getColor().ordinal();
+            snapshot.setMoveNumber(e.getMoveNo());
+            snapshot.setTurn(GameState.opposite(e.getColor()));
+            snapshot.setRemainingMs(TURN_LIMIT_MS);
+            lastX = e.getX();
+            lastY = e.getY();
+            lastColor = e.getColor();
+            activeAt = e.getTimestamp();
+        }
+
+        // 재생한 마지막 수로 이미 승부가 났거나 판이 꽉 찼으면 복구하지 않음 (GAME_END 기록 전에 멈춘 경우)
+        // - 승리 판정은 OmokRule.isWin과 같음: 마지막 돌을 지나는 4방향 중 5개 이상 연속
+        boolean isDecided() {
+            if (lastColor == null) return false;
+            if (snapshot.getMoveNumber() >= SIZE * SIZE) return true;
+
+            byte[] cells = snapshot.getCells();
+            byte color = (byte) lastColor.ordinal();
+            int[][] dirs = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+            for (int[] d : dirs) {
+                int run = 1;
+                for (int sign = -1; sign <= 1; sign += 2) {
+                    int x = lastX + d[0] * sign, y = lastY + d[1] * sign;
+                    while (x >= 0 && x < SIZE && y >= 0 && y < SIZE && cells[y * SIZE + x] == color) {
+                        run++;
+                        x += d[0] * sign;
+                        y += d[1] * sign;
+                    }
+                }
+                if (run >= 5) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package team.omok.omok_mini_project.service;
 
-import team.omok.omok_mini_project.controller.LobbyWebSocket;
-import team.omok.omok_mini_project.domain.GameState;
+import team.omok.omok_mini_project.cluster.ClusterManager;
+import team.omok.omok_mini_project.domain.GameSnapshot;
 import team.omok.omok_mini_project.domain.MoveResult;
 import team.omok.omok_mini_project.domain.Room;
 import team.omok.omok_mini_project.domain.dto.WsMessage;
+import team.omok.omok_mini_project.domain.vo.RoomSnapshotVO;
 import team.omok.omok_mini_project.domain.vo.UserVO;
 import team.omok.omok_mini_project.enums.JoinResult;
 import team.omok.omok_mini_project.enums.LeaveResult;
 import team.omok.omok_mini_project.enums.MessageType;
+import team.omok.omok_mini_project.enums.Stone;
 import team.omok.omok_mini_project.manager.RoomManager;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
+import team.omok.omok_mini_project.util.EncodedFrame;
+import team.omok.omok_mini_project.util.FrameWriters;
 
 import javax.websocket.Session;
 import java.util.HashMap;
@@ -17,8 +23,15 @@ import java.util.List;
 import java.util.Map;
 
 // 방에서 일어나는 행위를 처리하는 서비스 클래스
+// - 웹소켓/서블릿 스레드에서 호출되고, 방 상태를 건드리는 부분은 전부 room 메일박스로 넘긴다.
+// - DB 조회(닉네임/프로필)는 메일박스 밖에서 먼저 끝내서 방 이벤트 처리를 막지 않는다.
 public class RoomService {
 
+    // 착수 수신 -> 방 스레드 시작 (메일박스 대기)
+    private static final LatencyRecorder MOVE_QUEUE_TIME = Metrics.timer("move.queueWait");
+    // 착수 수신 -> 결과 프레임 송신 큐 적재까지
+    private static final LatencyRecorder MOVE_TOTAL_TIME = Metrics.timer("move.total");
+
     private final RoomManager roomManager = RoomManager.getInstance();
     private final RoomBroadcaster broadcaster = new RoomBroadcaster();
     private final UserService userService = new UserService();
@@ -30,18 +43,36 @@ public class RoomService {
         return roomManager.createRoom(userId);
     }
 
+    // 재시작 복구: 스냅샷으로 진행 중인 방을 다시 만들어 등록 (시간초과 처리도 다시 연결)
+    public Room restoreRoom(RoomSnapshotVO snapshot) {
+        Room room = Room.restore(snapshot);
+        room.setTurnTimeoutHandler(this::handleTurnTimeout);
+        roomManager.restoreRoom(room);
+        return room;
+    }
+
     // 방 입장
     public void enterRoom(String roomId, UserVO user) {
+        enterRoom(roomId, user.getUserId());
+    }
+
+    // 방 입장 (클러스터 모드에서 다른 노드 방이면 주인 노드에 요청하고 응답까지 대기)
+    public void enterRoom(String roomId, int userId) {
+        ClusterManager cluster = ClusterManager.getInstance();
+        if (cluster.isRemote(roomId)) {
+            cluster.enterRemote(roomId, userId);
+            return;
+        }
         Room room = roomManager.getRoomById(roomId);
 
         if (room == null) {
             throw new IllegalArgumentException("방이 존재하지 않습니다");
-        } else if (room.isFull()) {
-            throw new IllegalStateException("방이 꽉 찼습니다");
-            // TODO: 우회?
         }
-        room.tryAddPlayer(user.getUserId());
-        LobbyWebSocket.broadcastRoomList();
+        // 가득 참 확인 + 추가를 방 메일박스에서 한 번에 처리
+        room.invoke(() -> {
+            room.tryAddPlayer(userId);
+            return null;
+        });
     }
 
     // 관전자로 방 입장
@@ -59,9 +90,9 @@ public class RoomService {
         return roomManager.getLobbyRooms();
     }
 
-    // 빠른 입장: 가장 먼저 생성된 대기 방 반환
-    public Room getFirstWaitingRoom() {
-        return roomManager.getFirstWaitingRoom();
+    // 빠른 입장: 가장 오래된 대기 방에 자리 잡기 (없으면 null)
+    public Room quickEnter(UserVO user) {
+        return roomManager.claimSeat(user.getUserId());
     }
 
     // 모든 방 목록 가져오기
@@ -80,30 +111,49 @@ public class RoomService {
     // 게임 시작할 때 서로의 프로필 사진, 닉네임 브로드캐스트
     public void onJoin(String roomId, int userId, Session session, boolean spectator) {
         Room room = getRoomOrThrow(roomId);
-        JoinResult result = room.addSession(userId, session, spectator);
 
-        // 유저 정보 생성 (회원/비회원 공통)
+        // 유저 정보 생성 (회원/비회원 공통) - DB 조회라 메일박스 밖에서
         Map<String, Object> joinInfo = createUserInfoMap(userId, spectator);
+        List<Map<String, Object>> memberList = room.getPlayers().stream()
+                .map(id -> createUserInfoMap(id, false))
+                .toList();
+
+        room.execute(() -> {
+            try {
+                joinOnRoomThread(room, userId, session, spectator, joinInfo, memberList);
+            } catch (Exception e) {
+                System.out.println("[WARN] RoomService-onJoin 실패: " + e.getMessage());
+                try {
+                    session.close();
+                } catch (Exception ignored) {
+                }
+            }
+        });
+    }
+
+    private void joinOnRoomThread(Room room, int userId, Session session, boolean spectator,
+                                  Map<String, Object> joinInfo, List<Map<String, Object>> memberList) {
+        JoinResult result = room.addSession(userId, session, spectator);
 
         // 신규 입장 알림 (모든 사람에게)
         broadcaster.broadcastAll(room, new WsMessage<>(MessageType.JOIN, joinInfo));
 
         // 신규 입장자(나)에게만 현재 방의 '플레이어 리스트' 전송
-        List<Map<String, Object>> memberList = room.getPlayers().stream()
-                .map(id -> createUserInfoMap(id, false))
-                .toList();
-        broadcaster.broadcastToSession(session, new WsMessage<>(MessageType.ROOM_MEMBERS, memberList));
+        broadcaster.broadcastToSession(room, session, new WsMessage<>(MessageType.ROOM_MEMBERS, memberList));
 
         // 관전자 혹은 재접속 플레이어에게 '현재 바둑판 상태' 전송
         if (room.getGame() != null && room.getGame().getState() != null) {
-            GameState state = room.getGame().getState();
-            broadcaster.broadcastToSession(session, new WsMessage<>(MessageType.BOARD_SNAPSHOT,
-                    Map.of(
-                            "board", state.getBoard(),
-                            "turn", state.getTurn().toString(),
-                            "remainingTime", state.getRemainingTimeMs()
-                    )
-            ));
+            // 마지막으로 발행된 불변 스냅샷 기준 (보드 압축 문자열도 스냅샷마다 한 번만 만든다)
+            GameSnapshot snap = room.getGame().getState().getSnapshot();
+
+            // 재접속 플레이어는 GAME_START를 다시 받지 않으므로 내 돌 색을 같이 보냄
+            Stone myColor = null;
+            if (room.isPlayer(userId)) {
+                myColor = userId == snap.getBlackUserId() ? Stone.BLACK : Stone.WHITE;
+            }
+            broadcaster.broadcastToSession(room, session, FrameWriters.boardSnapshot(
+                    snap.getEncodedBoard(), snap.getTurn(), snap.getVersion(),
+                    snap.getRemainingTimeMs(), myColor, userId));
         }
 
         switch (result) {
@@ -114,6 +164,7 @@ public class RoomService {
                         )
                 );
 
+                room.setTurnTimeoutHandler(this::handleTurnTimeout);
                 room.tryStartGame();
 
             }
@@ -128,6 +179,10 @@ public class RoomService {
         // 1. 나가려는 사람의 닉네임 미리 확보 (세션 끊기기 전/후 DB 조회)
         String nickname = getNicknameSafe(userId);
 
+        room.execute(() -> leaveOnRoomThread(room, userId, session, nickname));
+    }
+
+    private void leaveOnRoomThread(Room room, int userId, Session session, String nickname) {
         LeaveResult result = room.removeSession(userId, session);
 
         // 2. 공통으로 보낼 메시지 페이로드 구성
@@ -167,21 +222,20 @@ public class RoomService {
     // 착수 처리
     public void handleMove(String roomId, int userId, int x, int y) {
         Room room = getRoomOrThrow(roomId);
+        long received = System.nanoTime();
+        room.execute(() -> moveOnRoomThread(room, userId, x, y, received));
+    }
 
+    private void moveOnRoomThread(Room room, int userId, int x, int y, long received) {
+        MOVE_QUEUE_TIME.recordSince(received);
         MoveResult result = room.handleMove(userId, x, y);
         if (result == null) return;
 
         switch (result.getType()) {
 
             case MOVE_OK -> {
-                broadcaster.broadcastAll(room, new WsMessage<>(
-                        MessageType.MOVE_OK,
-                        Map.of(
-                                "x", result.getX(),
-                                "y", result.getY(),
-                                "color", room.getGame().getState().getStone(result.getX(), result.getY())
-                        )
-                ));
+                broadcaster.broadcastAll(room, moveOkFrame(room, result));
+                MOVE_TOTAL_TIME.recordSince(received);
 
             }
 
@@ -199,38 +253,18 @@ public class RoomService {
 
             case INVALID_TURN -> {
                 if ("TIMEOUT".equals(result.getReason())) {
-                    broadcaster.broadcastAll(room,
-                            new WsMessage<>(
-                                    MessageType.GAME_END,
-                                    Map.of(
-                                            "reason", "TIMEOUT",
-                                            "winner", room.getGame().getState().getWinnerId()
-                                    )
-                            ));
-
-                    handleGameEnd(room);
+                    handleTurnTimeout(room);
                 }
 
             }
 
             case WIN -> {
                 // 마지막 착수
-                broadcaster.broadcastAll(room,
-                        new WsMessage<>(MessageType.MOVE_OK, Map.of(
-                                "x", result.getX(),
-                                "y", result.getY(),
-                                "color", room.getGame().getState().getStone(
-                                        result.getX(), result.getY()
-                                )
-                        )
-                        ));
+                broadcaster.broadcastAll(room, moveOkFrame(room, result));
+                MOVE_TOTAL_TIME.recordSince(received);
 
                 // 승자, 게임 종료
-                broadcaster.broadcastAll(room,
-                        new WsMessage<>(
-                                MessageType.GAME_END,
-                                Map.of("winner", result.getWinnerId())
-                        ));
+                broadcaster.broadcastAll(room, FrameWriters.gameEnd(null, result.getWinnerId()));
 
                 handleGameEnd(room);
                 // 필요하면 cleanUp() 호출 정책 결정
@@ -238,15 +272,44 @@ public class RoomService {
             }
 
             case DRAW -> {
-                broadcaster.broadcastAll(room,
-                        new WsMessage<>(MessageType.GAME_END,
-                                Map.of("reason", "DRAW"))
-                );
+                // 마지막 착수
+                broadcaster.broadcastAll(room, moveOkFrame(room, result));
+                MOVE_TOTAL_TIME.recordSince(received);
+
+                broadcaster.broadcastAll(room, FrameWriters.gameEnd("DRAW", null));
                 handleGameEnd(room);
             }
         }
     }
 
+    // MOVE_OK 프레임 (Map/리플렉션 없이 바로 인코딩)
+    private EncodedFrame moveOkFrame(Room room, MoveResult result) {
+        return FrameWriters.moveOk(
+                result.getX(),
+                result.getY(),
+                room.getGame().getState().getStone(result.getX(), result.getY()),
+                result.getMoveNumber()
+        );
+    }
+
+    // 흑 금수 칸 조회 (요청한 세션에만 응답)
+    public void handleForbiddenCells(String roomId, Session session) {
+        Room room = getRoomOrThrow(roomId);
+
+        room.execute(() -> broadcaster.broadcastToSession(session, new WsMessage<>(
+                MessageType.FORBIDDEN_CELLS,
+                Map.of("cells", room.getForbiddenCells())
+        )));
+    }
+
+    // 턴 시간초과 종료 (타이머 만료 시 바로, 혹은 만료 후 착수 시도 시)
+    private void handleTurnTimeout(Room room) {
+        broadcaster.broadcastAll(room,
+                FrameWriters.gameEnd("TIMEOUT", room.getGame().getState().getWinnerId()));
+
+        handleGameEnd(room);
+    }
+
     // 채팅 처리
     public void handleChat(String roomId, int userId, String message) {
         Room room = getRoomOrThrow(roomId);
@@ -270,18 +333,15 @@ public class RoomService {
             );
         }
 
-        broadcaster.broadcastAll(
-                room,
-                new WsMessage<>(MessageType.CHAT, payload)
-        );
+        WsMessage<Map<String, Object>> chat = new WsMessage<>(MessageType.CHAT, payload);
+        room.execute(() -> broadcaster.broadcastAll(room, chat));
     }
 
-    // 게임 종료 처리(공통 게임 종료 후 처리용)
+    // 게임 종료 처리(공통 게임 종료 후 처리용, 방 메일박스에서 호출)
     private void handleGameEnd(Room room) {
+        // 전적/랭킹 반영은 RatingWriter가 DB 반영 후 처리
         room.endGame();
 
-        LobbyWebSocket.broadcastRanking();
-
         roomManager.removeRoom(room.getRoomId());
     }
 
@@ -0,0 +1,134 @@
+package team.omok.omok_mini_project.service;
+
+import team.omok.omok_mini_project.domain.vo.UserVO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 유저 정보 캐시 (userId -> UserVO)
+ * <p>
+ * - 입장/퇴장/채팅마다 users JOIN record 조회를 하지 않도록 최근 조회 결과를 들고 있는다.
+ * - 최대 MAX_SIZE명, 오래 안 쓴 것부터 밀어냄(LRU), 저장 후 TTL이 지나면 다시 조회
+ * - DB에 없는 유저(게스트)도 짧은 TTL로 "없음"을 기억한다. (게스트 채팅마다 조회 방지)
+ * - 프로필 변경, 전적(레이팅) 반영 시 invalidate로 지운다.
+ * <p>
+ * 캐시된 UserVO는 여러 요청이 같이 보므로 읽기 전용으로만 사용해야 한다.
+ */
+public class UserProfileCache {
+    private static final UserProfileCache instance = new UserProfileCache();
+
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long NEGATIVE_TTL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    @FunctionalInterface
+    public interface Loader {
+        UserVO load(int userId) throws Exception;
+    }
+
+    // 접근 순서 LinkedHashMap = LRU (this 락으로 보호)
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            if (size() > MAX_SIZE) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // invalidate 횟수 (조회 중에 무효화되면 오래된 결과를 저장하지 않기 위해)
+    private long invalidations;
+
+    // 지표
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public static UserProfileCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * 캐시에서 조회, 없거나 만료됐으면 loader로 조회 후 저장
+     * - DB 조회는 락 밖에서 한다. (같은 유저를 동시에 조회하면 둘 다 조회할 수 있음)
+     * - loader 예외는 캐시하지 않고 그대로 던진다.
+     */
+    public UserVO get(int userId, Loader loader) throws Exception {
+        long now = System.currentTimeMillis();
+        long version;
+        synchronized (this) {
+            version = invalidations;
+            Entry e = entries.get(userId);
+            if (e != null && e.expiresAt > now) {
+                if (e.user == null) negativeHits.incrementAndGet();
+                else hits.incrementAndGet();
+                return e.user;
+            }
+        }
+
+        misses.incrementAndGet();
+        UserVO user = loader.load(userId);
+        long ttl = (user == null) ? NEGATIVE_TTL_MS : TTL_MS;
+        synchronized (this) {
+            if (version == invalidations) {
+                entries.put(userId, new Entry(user, System.currentTimeMillis() + ttl));
+            }
+        }
+        return user;
+    }
+
+    // 유저 정보가 바뀌었을 때 (프로필 변경, 전적 반영)
+    public synchronized void invalidate(int userId) {
+        invalidations++;
+        entries.remove(userId);
+    }
+
+    public synchronized void clear() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public double getHitRatio() {
+        long h = hits.get() + negativeHits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    private static final class Entry {
+        final UserVO user;      // null = DB에 없는 유저
+        final long expiresAt;
+
+        Entry(UserVO user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -11,9 +11,11 @@ public class UserService {
 
     private final UserDAO userDAO = new UserDAO();
     private final RecordDAO recordDAO = new RecordDAO();
+    private final UserProfileCache profileCache = UserProfileCache.getInstance();
 
+    // 유저 조회 (캐시 사용, 반환값은 읽기 전용으로 사용)
     public UserVO getUserById(int userId) throws Exception {
-        return userDAO.findByUserId(userId);
+        return profileCache.get(userId, userDAO::findByUserId);
     }
 
     public void register(UserVO user) throws Exception {
@@ -0,0 +1,129 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.domain.dto.MovePayload;
+import team.omok.omok_mini_project.enums.Stone;
+
+import javax.websocket.Session;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/*
+ * 게임 웹소켓 바이너리 서브프로토콜 (omok.bin.v1).
+ *
+ * - 핸드셰이크에서 클라이언트가 Sec-WebSocket-Protocol: omok.bin.v1 을 요청한 세션만 사용한다.
+ *   요청하지 않은 클라이언트는 지금처럼 JSON 텍스트 프레임만 주고받는다.
+ * - 자주 오가는 메시지만 바이너리로 보내고, 나머지(입장/채팅/스냅샷 등)는 바이너리 세션에도 JSON으로 보낸다.
+ * - ByteBuffer 절대 위치 읽기/쓰기만 사용 (리플렉션/Map 없음)
+ *
+ * 프레임 (첫 바이트 = opcode, 좌표는 signed byte, 나머지 big-endian):
+ *   MOVE       C->S  [0x01][x][y]                                    3 bytes
+ *   MOVE_OK    S->C  [0x81][x][y][color 0=BLACK,1=WHITE][moveNo u16] 6 bytes
+ *   COUNTDOWN  S->C  [0x82][sec]                                     2 bytes
+ *   GAME_END   S->C  [0x83][reason 0=WIN,1=TIMEOUT,2=DRAW][winner i32] 6 bytes
+ *
+ * 보드 압축 (BOARD_SNAPSHOT, 방 스냅샷 파일 공통):
+ *   칸당 2비트 Stone ordinal (BLACK=0, WHITE=1, EMPTY=2), 칸 i = y * 15 + x 는 byte[i / 4]의 (i % 4) * 2 비트부터
+ *   225칸 -> 57바이트 (base64 76자)
+ */
+public final class BinaryCodec {
+
+    public static final String SUBPROTOCOL = "omok.bin.v1";
+    // 세션 userProperties 키 (협상 결과, GameWebSocket.onOpen에서 설정)
+    public static final String SESSION_KEY = "omok_binary";
+
+    public static final byte OP_MOVE = 0x01;
+    public static final byte OP_MOVE_OK = (byte) 0x81;
+    public static final byte OP_COUNTDOWN = (byte) 0x82;
+    public static final byte OP_GAME_END = (byte) 0x83;
+
+    public static final byte END_WIN = 0;
+    public static final byte END_TIMEOUT = 1;
+    public static final byte END_DRAW = 2;
+
+    private static final int BOARD_CELLS = 15 * 15;
+    public static final int PACKED_BOARD_BYTES = (BOARD_CELLS * 2 + 7) / 8;
+
+    private BinaryCodec() {
+    }
+
+    // 이 세션이 바이너리 서브프로토콜로 협상됐는지
+    public static boolean isBinary(Session session) {
+        return Boolean.TRUE.equals(session.getUserProperties().get(SESSION_KEY));
+    }
+
+    /// ////////////// 인코딩 (서버 -> 클라이언트) ////////////////////
+
+    public static ByteBuffer moveOk(int x, int y, Stone color, int moveNumber) {
+        ByteBuffer buf = ByteBuffer.allocate(6);
+        buf.put(0, OP_MOVE_OK);
+        buf.put(1, (byte) x);
+        buf.put(2, (byte) y);
+        buf.put(3, (byte) (color == Stone.WHITE ? 1 : 0));
+        buf.putShort(4, (short) moveNumber);
+        return buf.asReadOnlyBuffer();
+    }
+
+    public static ByteBuffer countdown(int sec) {
+        ByteBuffer buf = ByteBuffer.allocate(2);
+        buf.put(0, OP_COUNTDOWN);
+        buf.put(1, (byte) sec);
+        return buf.asReadOnlyBuffer();
+    }
+
+    public static ByteBuffer gameEnd(byte reason, int winnerId) {
+        ByteBuffer buf = ByteBuffer.allocate(6);
+        buf.put(0, OP_GAME_END);
+        buf.put(1, reason);
+        buf.putInt(2, winnerId);
+        return buf.asReadOnlyBuffer();
+    }
+
+    /// ////////////// 보드 압축 ////////////////////
+
+    // 칸별 Stone ordinal(GameState.toCells) -> 2비트 압축 (out은 PACKED_BOARD_BYTES 이상)
+    public static void packCells(byte[] cells, byte[] out) {
+        Arrays.fill(out, 0, PACKED_BOARD_BYTES, (byte) 0);
+        for (int i = 0; i < BOARD_CELLS; i++) {
+            out[i >> 2] |= (byte) ((cells[i] & 0x3) << ((i & 3) * 2));
+        }
+    }
+
+    public static byte[] unpackCells(byte[] packed) {
+        byte[] cells = new byte[BOARD_CELLS];
+        for (int i = 0; i < BOARD_CELLS; i++) {
+            cells[i] = (byte) ((packed[i >> 2] >> ((i & 3) * 2)) & 0x3);
+        }
+        return cells;
+    }
+
+    // BOARD_SNAPSHOT용 base64 문자열
+    public static String encodeBoard(byte[] cells) {
+        byte[] packed = new byte[PACKED_BOARD_BYTES];
+        packCells(cells, packed);
+        return Base64.getEncoder().encodeToString(packed);
+    }
+
+    /// ////////////// 디코딩 (클라이언트 -> 서버) ////////////////////
+
+    /**
+     * MOVE 프레임 디코딩
+     *
+     * @throws IllegalArgumentException 길이/opcode가 맞지 않으면
+     */
+    public static MovePayload decodeMove(ByteBuffer buf) {
+        int base = buf.position();
+        if (buf.remaining() != 3 || buf.get(base) != OP_MOVE) {
+            throw new IllegalArgumentException("malformed binary frame");
+        }
+        MovePayload move = new MovePayload();
+        move.setX(buf.get(base + 1));
+        move.setY(buf.get(base + 2));
+        return move;
+    }
+
+    // 프레임 첫 바이트 (비어 있으면 0)
+    public static byte opcodeOf(ByteBuffer buf) {
+        return buf.hasRemaining() ? buf.get(buf.position()) : 0;
+    }
+}
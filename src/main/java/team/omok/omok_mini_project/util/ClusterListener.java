@@ -0,0 +1,22 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.cluster.ClusterManager;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+// 애플리케이션 시작 시 클러스터 노드 등록 (클러스터 모드가 꺼져 있으면 아무것도 안 함), 종료 시 해제
+@WebListener
+public class ClusterListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ClusterManager.getInstance().start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        ClusterManager.getInstance().stop();
+    }
+}
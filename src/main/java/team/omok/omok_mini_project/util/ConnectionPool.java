@@ -0,0 +1,271 @@
+package team.omok.omok_mini_project.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 최대 개수가 정해진 JDBC 커넥션 풀.
+ *
+ * - 물리 커넥션을 maxSize개까지만 만들고, 다 쓰고 있으면 acquireTimeoutMs까지 기다린다. (넘으면 SQLException)
+ * - 빌려준 커넥션은 Proxy로 감싸서 close() 하면 실제로 닫지 않고 풀에 돌려준다.
+ *   DAO의 try-with-resources 코드는 그대로 쓰면 된다.
+ * - 돌려받을 때 트랜잭션이 열려 있으면 롤백하고 autoCommit을 true로 되돌린다.
+ * - 연결 오류(SQLState 08xxx)가 난 커넥션은 풀에 넣지 않고 버린다.
+ * - 오래 놀던 커넥션은 빌려주기 전에 isValid로 확인한다.
+ *
+ * 커넥션을 재사용하므로 드라이버의 서버측 prepared statement 캐시(커넥션 단위)가 실제로 효과를 본다.
+ */
+public final class ConnectionPool {
+
+    private static final long VALIDATE_AFTER_MS = 30_000;
+
+    private final String url;
+    private final Properties props;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+
+    private final Semaphore permits;
+    // 쉬고 있는 커넥션 (this 락으로 보호, 최근에 반납된 것부터 사용)
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    // 지표
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong waitNanosTotal = new AtomicLong();
+    private final AtomicLong waitNanosMax = new AtomicLong();
+
+    public ConnectionPool(String url, Properties props, int maxSize, long acquireTimeoutMs) {
+        this.url = url;
+        this.props = props;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("connection pool closed");
+
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted while waiting for connection", e);
+        }
+        long waited = System.nanoTime() - start;
+        waitNanosTotal.addAndGet(waited);
+        waitNanosMax.accumulateAndGet(waited, Math::max);
+
+        if (!ok) {
+            timeouts.incrementAndGet();
+            throw new SQLException("connection pool timeout (" + acquireTimeoutMs + "ms, max=" + maxSize + ")");
+        }
+
+        try {
+            Connection physical = takeIdle();
+            if (physical == null) {
+                physical = DriverManager.getConnection(url, props);
+                created.incrementAndGet();
+            }
+            active.incrementAndGet();
+            acquired.incrementAndGet();
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 쉬는 커넥션 하나 꺼내기 (오래된 건 확인 후 사용, 죽었으면 버림)
+    private Connection takeIdle() {
+        while (true) {
+            Idle e;
+            synchronized (this) {
+                e = idle.pollFirst();
+            }
+            if (e == null) return null;
+
+            if (System.currentTimeMillis() - e.since < VALIDATE_AFTER_MS) {
+                return e.connection;
+            }
+            try {
+                if (e.connection.isValid(1)) return e.connection;
+            } catch (SQLException ignored) {
+            }
+            closeQuietly(e.connection);
+        }
+    }
+
+    // 빌려준 커넥션 반납 (Proxy의 close에서 호출)
+    private void release(Connection physical, boolean broken) {
+        active.decrementAndGet();
+        try {
+            if (broken || closed || physical.isClosed()) {
+                closeQuietly(physical);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            synchronized (this) {
+                idle.addFirst(new Idle(physical, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease(physical));
+    }
+
+    // 풀 종료 (쉬는 커넥션 닫기, 빌려준 커넥션은 반납될 때 닫힘)
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            for (Idle e : idle) {
+                closeQuietly(e.connection);
+            }
+            idle.clear();
+        }
+    }
+
+    private static void closeQuietly(Connection c) {
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    // 커넥션을 기다리는 스레드 수 (대략)
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public long getAcquiredCount() {
+        return acquired.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    public double getAvgWaitMs() {
+        long n = acquired.get() + timeouts.get();
+        return n == 0 ? 0 : waitNanosTotal.get() / 1_000_000.0 / n;
+    }
+
+    public double getMaxWaitMs() {
+        return waitNanosMax.get() / 1_000_000.0;
+    }
+
+    /// ////////////// 내부 ////////////////////
+
+    private static final class Idle {
+        final Connection connection;
+        final long since;
+
+        Idle(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+
+    // 빌려준 커넥션 Proxy: close는 반납, 나머지는 실제 커넥션에 위임
+    private final class Lease implements InvocationHandler {
+        private final Connection physical;
+        private boolean released;
+        private boolean broken;
+
+        Lease(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!released) {
+                        released = true;
+                        release(physical, broken);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return released || physical.isClosed();
+                }
+                case "unwrap" -> {
+                    return physical.unwrap((Class<?>) args[0]);
+                }
+                case "isWrapperFor" -> {
+                    return physical.isWrapperFor((Class<?>) args[0]);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + physical + "]";
+                }
+                default -> {
+                }
+            }
+
+            if (released) {
+                throw new SQLException("connection already returned to pool");
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException se
+                        && se.getSQLState() != null && se.getSQLState().startsWith("08")) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package team.omok.omok_mini_project.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.util.Properties;
 
+/*
+ * DB 커넥션 진입점 (모든 DAO가 사용)
+ * - 매번 DriverManager로 새로 연결하지 않고 ConnectionPool에서 빌려준다.
+ * - 받은 커넥션은 기존처럼 try-with-resources로 close 하면 풀에 반납된다.
+ */
 public class DBConnection {
     private static final String URL =
             "jdbc:postgresql://192.168.0.139:5432/omok";
@@ -12,8 +17,42 @@ public class DBConnection {
 //    private static final String USER = "kimjaemin";
 //    private static final String PASSWORD = "postgres";
 
+    private static final int POOL_SIZE = 10;
+    private static final long ACQUIRE_TIMEOUT_MS = 3_000;
+
+    private static final ConnectionPool POOL = createPool();
+
+    private static ConnectionPool createPool() {
+        try {
+            Class.forName("org.postgresql.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("PostgreSQL driver not found", e);
+        }
+
+        Properties props = new Properties();
+        props.setProperty("user", USER);
+        props.setProperty("password", PASSWORD);
+        // 서버측 prepared statement: 같은 SQL을 두 번째 실행부터 서버에서 준비된 문장으로 재사용
+        props.setProperty("prepareThreshold", "1");
+        // 커넥션별 prepared statement 캐시 (SQL 문자열 기준)
+        props.setProperty("preparedStatementCacheQueries", "256");
+        props.setProperty("preparedStatementCacheSizeMiB", "5");
+        props.setProperty("connectTimeout", "5");
+
+        return new ConnectionPool(URL, props, POOL_SIZE, ACQUIRE_TIMEOUT_MS);
+    }
+
     public static Connection getConnection() throws Exception {
-        Class.forName("org.postgresql.Driver");
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return POOL.getConnection();
+    }
+
+    // 풀 지표 조회용
+    public static ConnectionPool getPool() {
+        return POOL;
+    }
+
+    // 애플리케이션 종료 시 호출
+    public static void shutdown() {
+        POOL.close();
     }
 }
@@ -0,0 +1,21 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.repository.MoveJournal;
+import team.omok.omok_mini_project.service.RatingWriter;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+// 애플리케이션 종료(재배포) 시 남은 전적 반영 + 착수 저널 force 후 커넥션 풀 정리
+@WebListener
+public class DbPoolListener implements ServletContextListener {
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        RatingWriter.getInstance().shutdown();
+        MoveJournal.getInstance().shutdown();
+        DBConnection.shutdown();
+        System.out.println("[DB] connection pool closed");
+    }
+}
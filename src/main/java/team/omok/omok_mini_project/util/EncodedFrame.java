@@ -0,0 +1,74 @@
+package team.omok.omok_mini_project.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import team.omok.omok_mini_project.domain.dto.WsMessage;
+import team.omok.omok_mini_project.enums.MessageType;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
+
+import java.nio.ByteBuffer;
+
+/*
+ * 미리 JSON으로 인코딩해 둔 웹소켓 프레임.
+ * - 메시지를 한 번만 직렬화하고, 같은 문자열을 방의 모든 세션에 그대로 보낸다.
+ * - 불변 객체라 여러 스레드/세션에서 공유해도 된다.
+ * - binary가 있으면 바이너리 서브프로토콜 세션에는 그쪽을 보낸다. (BinaryCodec)
+ */
+public final class EncodedFrame {
+    // Jackson 직렬화 소요 시간 (FrameWriters로 만드는 프레임은 제외)
+    private static final LatencyRecorder ENCODE_TIME = Metrics.timer("encode.json");
+
+    private final MessageType type;
+    private final String text;
+    private final ByteBuffer binary;    // 읽기 전용, 없으면 null
+
+    private EncodedFrame(MessageType type, String text, ByteBuffer binary) {
+        this.type = type;
+        this.text = text;
+        this.binary = binary;
+    }
+
+    // WsMessage -> 프레임 (Jackson 직렬화 1회)
+    public static EncodedFrame of(WsMessage<?> message) {
+        try {
+            long start = System.nanoTime();
+            String text = JsonUtil.MAPPER.writeValueAsString(message);
+            ENCODE_TIME.recordSince(start);
+            return new EncodedFrame(message.getType(), text, null);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // 이미 만들어진 JSON 문자열로 프레임 생성 (FrameWriters 전용)
+    static EncodedFrame ofText(MessageType type, String text) {
+        return new EncodedFrame(type, text, null);
+    }
+
+    // JSON + 바이너리 두 형식을 함께 가진 프레임 (FrameWriters 전용)
+    static EncodedFrame ofBoth(MessageType type, String text, ByteBuffer binary) {
+        return new EncodedFrame(type, text, binary);
+    }
+
+    public MessageType getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean hasBinary() {
+        return binary != null;
+    }
+
+    // 세션마다 position이 따로 움직이도록 복제본을 돌려준다
+    public ByteBuffer getBinary() {
+        return binary == null ? null : binary.duplicate();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
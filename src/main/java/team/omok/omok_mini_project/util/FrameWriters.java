@@ -0,0 +1,88 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.enums.MessageType;
+import team.omok.omok_mini_project.enums.Stone;
+
+import java.nio.ByteBuffer;
+
+/*
+ * 자주 나가는 메시지 전용 프레임 작성기.
+ * - Map 생성 + Jackson 리플렉션 없이 StringBuilder로 바로 JSON을 만든다.
+ * - 필드가 숫자/enum 이름뿐이라 문자열 이스케이프가 필요 없는 메시지만 여기 둔다.
+ * - 출력 형식은 WsMessage를 Jackson으로 직렬화한 것과 같다. {"type":..., "payload":{...}}
+ * - 바이너리 서브프로토콜 대상 메시지는 BinaryCodec 형식도 같이 만들어 둔다.
+ */
+public final class FrameWriters {
+
+    private FrameWriters() {
+    }
+
+    // MOVE_OK {x, y, color, moveNumber}
+    public static EncodedFrame moveOk(int x, int y, Stone color, int moveNumber) {
+        StringBuilder sb = begin(MessageType.MOVE_OK, 80);
+        sb.append("\"x\":").append(x)
+                .append(",\"y\":").append(y)
+                .append(",\"color\":\"").append(color.name()).append('"')
+                .append(",\"moveNumber\":").append(moveNumber);
+        return end(MessageType.MOVE_OK, sb, BinaryCodec.moveOk(x, y, color, moveNumber));
+    }
+
+    // COUNTDOWN {sec}
+    public static EncodedFrame countdown(int sec) {
+        StringBuilder sb = begin(MessageType.COUNTDOWN, 48);
+        sb.append("\"sec\":").append(sec);
+        return end(MessageType.COUNTDOWN, sb, BinaryCodec.countdown(sec));
+    }
+
+    /**
+     * GAME_END
+     * - 승리: {winner}
+     * - 시간 초과: {reason:"TIMEOUT", winner}
+     * - 무승부: {reason:"DRAW"}
+     *
+     * @param reason null이면 일반 승리
+     * @param winner 무승부면 null
+     */
+    public static EncodedFrame gameEnd(String reason, Integer winner) {
+        StringBuilder sb = begin(MessageType.GAME_END, 64);
+        byte code = BinaryCodec.END_WIN;
+        if (reason != null) {
+            sb.append("\"reason\":\"").append(reason).append('"');
+            code = "DRAW".equals(reason) ? BinaryCodec.END_DRAW : BinaryCodec.END_TIMEOUT;
+        }
+        if (winner != null) {
+            if (reason != null) sb.append(',');
+            sb.append("\"winner\":").append(winner.intValue());
+        }
+        return end(MessageType.GAME_END, sb, BinaryCodec.gameEnd(code, winner == null ? 0 : winner));
+    }
+
+    /**
+     * BOARD_SNAPSHOT {board, turn, moveNumber, remainingTime [, myColor, myUserId, role]}
+     * - board: BinaryCodec.encodeBoard 결과 (2비트 압축 base64, 방에서 수 번호별로 캐시)
+     * - 재접속 플레이어면 myColor를 넘긴다. (관전자는 null)
+     */
+    public static EncodedFrame boardSnapshot(String board, Stone turn, int moveNumber, long remainingMs,
+                                             Stone myColor, int myUserId) {
+        StringBuilder sb = begin(MessageType.BOARD_SNAPSHOT, 200);
+        sb.append("\"board\":\"").append(board).append('"')
+                .append(",\"turn\":\"").append(turn.name()).append('"')
+                .append(",\"moveNumber\":").append(moveNumber)
+                .append(",\"remainingTime\":").append(remainingMs);
+        if (myColor != null) {
+            sb.append(",\"myColor\":\"").append(myColor.name()).append('"')
+                    .append(",\"myUserId\":").append(myUserId)
+                    .append(",\"role\":\"PLAYER\"");
+        }
+        return EncodedFrame.ofText(MessageType.BOARD_SNAPSHOT, sb.append("}}").toString());
+    }
+
+    private static StringBuilder begin(MessageType type, int capacity) {
+        return new StringBuilder(capacity)
+                .append("{\"type\":\"").append(type.name()).append("\",\"payload\":{");
+    }
+
+    private static EncodedFrame end(MessageType type, StringBuilder sb, ByteBuffer binary) {
+        return EncodedFrame.ofBoth(type, sb.append("}}").toString(), binary);
+    }
+}
@@ -0,0 +1,240 @@
+package team.omok.omok_mini_project.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import team.omok.omok_mini_project.domain.dto.MovePayload;
+import team.omok.omok_mini_project.domain.dto.WsMessage;
+import team.omok.omok_mini_project.enums.MessageType;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 게임 웹소켓 수신 메시지 디코더 (JSON 텍스트 프레임).
+ *
+ * - WsMessage<?>로 통째로 읽으면 payload가 LinkedHashMap이 되고, 다시 convertValue로 한 번 더 변환해야 했다.
+ * - 여기서는 JsonParser로 type을 먼저 읽고, 타입별 리더가 payload를 바로 대상 객체로 읽는다. (한 번에 끝)
+ *   MOVE -> MovePayload(x, y), CHAT -> String, FORBIDDEN_CELLS -> payload 없음
+ * - 파서를 만들기 전에 길이/첫 글자로 명백히 잘못된 프레임은 바로 거른다.
+ * - 잘못된 프레임은 IllegalArgumentException (GameWebSocket에서 INVALID_MESSAGE_FORMAT 응답)
+ * - 리더가 없는 타입은 payload를 건너뛰고 null로 돌려준다. (UNSUPPORTED_MESSAGE 처리는 호출 쪽 몫)
+ */
+public final class InboundDecoder {
+
+    // 채팅 한 줄 + 여유. 이보다 긴 프레임은 파싱하지 않는다.
+    public static final int MAX_FRAME_CHARS = 2048;
+
+    @FunctionalInterface
+    private interface PayloadReader<T> {
+        // 파서는 payload 값의 첫 토큰에 놓여 있다. 읽고 나면 payload의 마지막 토큰에 있어야 한다.
+        T read(JsonParser p) throws IOException;
+    }
+
+    private static final Map<MessageType, PayloadReader<?>> READERS = new EnumMap<>(MessageType.class);
+    private static final Map<String, MessageType> TYPES = new HashMap<>();
+
+    static {
+        READERS.put(MessageType.MOVE, InboundDecoder::readMove);
+        READERS.put(MessageType.CHAT, InboundDecoder::readChat);
+        READERS.put(MessageType.FORBIDDEN_CELLS, InboundDecoder::skip);
+
+        for (MessageType type : MessageType.values()) {
+            TYPES.put(type.name(), type);
+        }
+    }
+
+    // 지표 (디코딩 성공/실패 건수, 누적 소요 시간)
+    private static final LongAdder DECODED = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+    private static final LongAdder DECODE_NANOS = new LongAdder();
+    private static final LongAdder MOVES = new LongAdder();
+    private static final LongAdder MOVE_NANOS = new LongAdder();
+
+    private InboundDecoder() {
+    }
+
+    /**
+     * 텍스트 프레임 디코딩
+     *
+     * @return type과 payload(MovePayload / String / null)가 채워진 메시지
+     * @throws IllegalArgumentException 형식이 맞지 않으면
+     */
+    public static WsMessage<?> decode(String frame) {
+        long start = System.nanoTime();
+        try {
+            precheck(frame);
+            WsMessage<?> message = parse(frame);
+
+            long elapsed = System.nanoTime() - start;
+            DECODED.increment();
+            DECODE_NANOS.add(elapsed);
+            if (message.getType() == MessageType.MOVE) {
+                MOVES.increment();
+                MOVE_NANOS.add(elapsed);
+            }
+            return message;
+        } catch (JsonProcessingException e) {
+            REJECTED.increment();
+            throw new IllegalArgumentException("malformed frame: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            REJECTED.increment();
+            throw new IllegalArgumentException("malformed frame", e);
+        } catch (RuntimeException e) {
+            REJECTED.increment();
+            throw e;
+        }
+    }
+
+    // 파서 생성 전에 거르는 검사 (길이, 객체 시작 여부)
+    private static void precheck(String frame) {
+        if (frame == null || frame.isEmpty()) {
+            throw new IllegalArgumentException("empty frame");
+        }
+        if (frame.length() > MAX_FRAME_CHARS) {
+            throw new IllegalArgumentException("frame too large: " + frame.length());
+        }
+        int i = 0;
+        while (i < frame.length() && Character.isWhitespace(frame.charAt(i))) i++;
+        if (i == frame.length() || frame.charAt(i) != '{') {
+            throw new IllegalArgumentException("frame is not a JSON object");
+        }
+    }
+
+    private static WsMessage<?> parse(String frame) throws IOException {
+        try (JsonParser p = JsonUtil.MAPPER.getFactory().createParser(frame)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("frame is not a JSON object");
+            }
+
+            MessageType type = null;
+            Object payload = null;
+            TokenBuffer early = null;   // type보다 payload가 먼저 온 경우에만 잠시 보관
+
+            JsonToken t;
+            while ((t = p.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+
+                if ("type".equals(field)) {
+                    type = readType(p);
+                    if (early != null) {
+                        try (JsonParser bp = early.asParser()) {
+                            bp.nextToken();
+                            payload = readPayload(type, bp);
+                        }
+                        early = null;
+                    }
+                } else if ("payload".equals(field)) {
+                    if (type != null) {
+                        payload = readPayload(type, p);
+                    } else {
+                        early = new TokenBuffer(p);
+                        early.copyCurrentStructure(p);
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (t != JsonToken.END_OBJECT) {
+                throw new IllegalArgumentException("truncated frame");
+            }
+            if (type == null) {
+                throw new IllegalArgumentException("missing type");
+            }
+            if (payload == null && (type == MessageType.MOVE || type == MessageType.CHAT)) {
+                throw new IllegalArgumentException("missing payload for " + type);
+            }
+            return new WsMessage<>(type, payload);
+        }
+    }
+
+    private static MessageType readType(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException("type must be a string");
+        }
+        MessageType type = TYPES.get(p.getText());
+        if (type == null) {
+            throw new IllegalArgumentException("unknown type: " + p.getText());
+        }
+        return type;
+    }
+
+    private static Object readPayload(MessageType type, JsonParser p) throws IOException {
+        PayloadReader<?> reader = READERS.get(type);
+        if (reader == null) {
+            return skip(p);
+        }
+        return reader.read(p);
+    }
+
+    /// ////////////// 타입별 리더 ////////////////////
+
+    // MOVE {x, y}
+    private static MovePayload readMove(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("MOVE payload must be an object");
+        }
+        boolean hasX = false, hasY = false;
+        MovePayload move = new MovePayload();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken v = p.nextToken();
+            if ("x".equals(field) || "y".equals(field)) {
+                if (v != JsonToken.VALUE_NUMBER_INT) {
+                    throw new IllegalArgumentException("MOVE " + field + " must be an integer");
+                }
+                if (field.equals("x")) {
+                    move.setX(p.getIntValue());
+                    hasX = true;
+                } else {
+                    move.setY(p.getIntValue());
+                    hasY = true;
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        if (!hasX || !hasY) {
+            throw new IllegalArgumentException("MOVE needs x and y");
+        }
+        return move;
+    }
+
+    // CHAT "메시지"
+    private static String readChat(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException("CHAT payload must be a string");
+        }
+        return p.getText();
+    }
+
+    private static Object skip(JsonParser p) throws IOException {
+        p.skipChildren();
+        return null;
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public static long getDecodedCount() {
+        return DECODED.sum();
+    }
+
+    public static long getRejectedCount() {
+        return REJECTED.sum();
+    }
+
+    public static long getTotalDecodeNanos() {
+        return DECODE_NANOS.sum();
+    }
+
+    // 착수 메시지 1건 평균 디코딩 시간 (ns)
+    public static long getAvgMoveDecodeNanos() {
+        long n = MOVES.sum();
+        return n == 0 ? 0 : MOVE_NANOS.sum() / n;
+    }
+}
@@ -0,0 +1,24 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.metrics.MetricsJmx;
+import team.omok.omok_mini_project.metrics.ServerGauges;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+// 애플리케이션 시작 시 게이지 연결 + JMX 등록, 종료 시 JMX 해제
+@WebListener
+public class MetricsListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServerGauges.register();
+        MetricsJmx.register();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        MetricsJmx.unregister();
+    }
+}
@@ -0,0 +1,25 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.service.RoomRecoveryService;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+// 애플리케이션 시작 시 진행 중이던 방 복구 + 주기 스냅샷 시작, 종료 시 마지막 스냅샷 저장
+@WebListener
+public class RoomRecoveryListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        RoomRecoveryService recovery = RoomRecoveryService.getInstance();
+        recovery.recover();
+        recovery.startSnapshots();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        RoomRecoveryService.getInstance().shutdown();
+        System.out.println("[INFO] room snapshot saved");
+    }
+}
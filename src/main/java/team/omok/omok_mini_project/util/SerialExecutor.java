@@ -0,0 +1,131 @@
+package team.omok.omok_mini_project.util;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 방(Room) 하나당 하나씩 두는 직렬 실행기 (액터 메일박스).
+ * - 들어온 작업은 큐에 쌓이고, 공유 스레드풀에서 한 번에 한 스레드만 꺼내서 실행한다.
+ * - 같은 방의 착수/입장/퇴장/채팅/타이머 이벤트가 모니터 없이 순서대로 처리된다.
+ * - 한 번에 BATCH개까지만 처리하고 양보해서, 바쁜 방이 풀 스레드를 독점하지 않게 한다.
+ */
+public final class SerialExecutor implements Executor {
+
+    private static final int BATCH = 64;
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+    // 모든 방이 공유하는 실행 스레드풀 (방마다 스레드 안 늘리기)
+    private static final ExecutorService SHARED = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            r -> {
+                Thread t = new Thread(r, "omok-room-" + THREAD_SEQ.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    // 현재 스레드가 어떤 메일박스를 처리 중인지 (재진입 시 바로 실행하기 위해)
+    private static final ThreadLocal<SerialExecutor> RUNNING = new ThreadLocal<>();
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor delegate;
+
+    public SerialExecutor() {
+        this(SHARED);
+    }
+
+    public SerialExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        mailbox.offer(task);
+        schedule();
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 작업을 메일박스에서 실행하고 결과를 기다린다. (서블릿 등 외부 스레드 전용)
+     * 이미 이 메일박스를 처리 중인 스레드에서 부르면 교착을 피하려고 바로 실행한다.
+     * 작업이 던진 RuntimeException은 그대로 다시 던진다.
+     */
+    public <T> T invoke(Callable<T> task) {
+        if (inEventLoop()) {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public boolean inEventLoop() {
+        return RUNNING.get() == this;
+    }
+
+    public int pendingCount() {
+        return mailbox.size();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            delegate.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        RUNNING.set(this);
+        try {
+            for (int i = 0; i < BATCH; i++) {
+                Runnable task = mailbox.poll();
+                if (task == null) break;
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    System.out.println("[WARN] SerialExecutor task failed: " + t);
+                    t.printStackTrace();
+                }
+            }
+        } finally {
+            RUNNING.remove();
+            scheduled.set(false);
+            // 처리 도중 새로 들어온 작업이 있으면 다시 예약
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+package team.omok.omok_mini_project.util;
+
+import team.omok.omok_mini_project.enums.MessageType;
+import team.omok.omok_mini_project.metrics.LatencyRecorder;
+import team.omok.omok_mini_project.metrics.Metrics;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 세션별 비동기 송신 큐 (getAsyncRemote + 세션당 전송 1개씩).
+ *
+ * - 보내는 쪽(방 메일박스, 로비 스레드)은 큐에 넣기만 하고 바로 돌아간다.
+ *   느린 관전자 1명 때문에 방 전체 처리가 막히지 않는다.
+ * - 전송 완료 콜백에서 다음 프레임을 꺼내 보낸다. (Tomcat은 세션당 동시 async 전송 1개만 허용)
+ * - 바이너리 서브프로토콜 세션에는 프레임에 바이너리 형식이 있으면 그걸 보낸다.
+ *
+ * 큐가 밀릴 때 정책:
+ * - LATEST_ONLY (카운트다운, 로비 방 목록/랭킹): 아직 안 나간 같은 종류 프레임은 최신 것으로 교체
+ * - DROPPABLE (채팅): HIGH_WATER 이상 밀려 있으면 버림
+ * - CRITICAL (착수, 게임 시작/종료 등): 절대 버리지 않음, MAX_QUEUE가 차면 버릴 수 있는 프레임부터 밀어냄
+ * - MAX_QUEUE를 넘거나 HIGH_WATER 이상인 상태가 STALL_LIMIT_MS 넘게 지속되면 세션을 끊는다.
+ */
+public final class SessionOutbox {
+
+    public enum Priority {
+        CRITICAL, DROPPABLE, LATEST_ONLY
+    }
+
+    private static final int MAX_QUEUE = 256;
+    private static final int HIGH_WATER = 64;
+    private static final long STALL_LIMIT_MS = 10_000;
+
+    // 살아있는 세션의 송신 큐 (sessionId -> outbox)
+    private static final Map<String, SessionOutbox> OUTBOXES = new ConcurrentHashMap<>();
+
+    // 전체 지표
+    private static final AtomicLong SENT = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong COALESCED = new AtomicLong();
+    private static final AtomicLong DISCONNECTED = new AtomicLong();
+    // 큐 대기 시간, sendText/sendBinary 시작 -> 완료 콜백까지 시간
+    private static final LatencyRecorder QUEUE_WAIT_TIME = Metrics.timer("ws.queueWait");
+    private static final LatencyRecorder SEND_TIME = Metrics.timer("ws.send");
+
+    private final Session session;
+
+    // 아래 필드는 this 락으로 보호
+    private final Deque<Pending> queue = new ArrayDeque<>();
+    private boolean inFlight;
+    private long sendStartNanos;
+    private boolean closed;
+    private long overSince;     // HIGH_WATER 이상이 된 시각 (0 = 정상)
+
+    private SessionOutbox(Session session) {
+        this.session = session;
+    }
+
+    /// ////////////// 진입점 ////////////////////
+
+    public static SessionOutbox of(Session session) {
+        return OUTBOXES.computeIfAbsent(session.getId(), id -> new SessionOutbox(session));
+    }
+
+    // 미리 인코딩된 프레임 전송 (메시지 타입으로 우선순위 결정)
+    public static void send(Session session, EncodedFrame frame) {
+        if (session == null || !session.isOpen()) return;
+        ByteBuffer binary = frame.hasBinary() && BinaryCodec.isBinary(session) ? frame.getBinary() : null;
+        of(session).offer(frame.getType().name(), frame.getText(), binary, priorityOf(frame.getType()));
+    }
+
+    // 로비처럼 MessageType이 아닌 메시지용 (key는 LATEST_ONLY 교체 기준)
+    public static void send(Session session, String key, String text, Priority priority) {
+        if (session == null || !session.isOpen()) return;
+        of(session).offer(key, text, null, priority);
+    }
+
+    // 다른 노드에서 이미 골라 보낸 프레임 전송 (클러스터 DELIVER, 텍스트/바이너리 중 하나)
+    // 원래 메시지 타입을 모르므로 버리지 않는 CRITICAL로 넣는다
+    public static void sendRaw(Session session, String text, ByteBuffer binary) {
+        if (session == null || !session.isOpen()) return;
+        of(session).offer("RAW", text, binary, Priority.CRITICAL);
+    }
+
+    // 세션 종료 시 호출 (남은 프레임 폐기)
+    public static void release(Session session) {
+        SessionOutbox box = OUTBOXES.remove(session.getId());
+        if (box != null) {
+            box.shutdown();
+        }
+    }
+
+    private static Priority priorityOf(MessageType type) {
+        return switch (type) {
+            case COUNTDOWN -> Priority.LATEST_ONLY;
+            case CHAT -> Priority.DROPPABLE;
+            default -> Priority.CRITICAL;
+        };
+    }
+
+    /// ////////////// 큐 ////////////////////
+
+    private void offer(String key, String text, ByteBuffer binary, Priority priority) {
+        boolean overflow = false;
+        synchronized (this) {
+            if (closed) return;
+
+            if (priority == Priority.LATEST_ONLY && replaceQueued(key, text, binary)) {
+                COALESCED.incrementAndGet();
+                return;
+            }
+
+            if (priority == Priority.DROPPABLE && queue.size() >= HIGH_WATER) {
+                DROPPED.incrementAndGet();
+                return;
+            }
+
+            if (queue.size() >= MAX_QUEUE && !evictDroppable()) {
+                overflow = true;
+            } else {
+                queue.addLast(new Pending(key, text, binary, priority));
+                overflow = isStalled();
+            }
+
+            if (overflow) {
+                closed = true;
+                queue.clear();
+            }
+        }
+
+        if (overflow) {
+            disconnect();
+            return;
+        }
+        pump();
+    }
+
+    // 아직 안 나간 같은 key의 LATEST_ONLY 프레임을 최신 내용으로 교체
+    private boolean replaceQueued(String key, String text, ByteBuffer binary) {
+        for (Pending p : queue) {
+            if (p.priority == Priority.LATEST_ONLY && p.key.equals(key)) {
+                p.text = text;
+                p.binary = binary;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 큐가 찼을 때 버릴 수 있는 가장 오래된 프레임 하나 제거
+    private boolean evictDroppable() {
+        Iterator<Pending> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next().priority != Priority.CRITICAL) {
+                it.remove();
+                DROPPED.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // HIGH_WATER 이상이 STALL_LIMIT_MS 넘게 지속됐는지
+    private boolean isStalled() {
+        if (queue.size() < HIGH_WATER) {
+            overSince = 0;
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (overSince == 0) {
+            overSince = now;
+            return false;
+        }
+        return now - overSince > STALL_LIMIT_MS;
+    }
+
+    private void pump() {
+        Pending next;
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (inFlight || closed) return;
+            next = queue.pollFirst();
+            if (next == null) return;
+            inFlight = true;
+            sendStartNanos = now;
+        }
+        QUEUE_WAIT_TIME.record(now - next.enqueuedAt);
+
+        try {
+            if (next.binary != null) {
+                session.getAsyncRemote().sendBinary(next.binary, this::onSent);
+            } else {
+                session.getAsyncRemote().sendText(next.text, this::onSent);
+            }
+        } catch (RuntimeException e) {
+            onSent(new SendResult(e));
+        }
+    }
+
+    private void onSent(SendResult result) {
+        synchronized (this) {
+            inFlight = false;
+            SEND_TIME.recordSince(sendStartNanos);
+        }
+        if (!result.isOK()) {
+            System.out.println("[WARN] SessionOutbox send failed: sessionId=" + session.getId()
+                    + ", " + result.getException());
+            // 닫힌 큐는 onClose에서 release될 때까지 남겨서 이후 전송을 흘려버린다
+            shutdown();
+            return;
+        }
+        SENT.incrementAndGet();
+        pump();
+    }
+
+    private void disconnect() {
+        DISCONNECTED.incrementAndGet();
+        System.out.println("[WARN] SessionOutbox overflow, closing sessionId=" + session.getId());
+
+        // close는 전송 중인 프레임을 기다릴 수 있어서 호출 스레드(방 메일박스)를 막지 않게 넘긴다
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                session.close(new CloseReason(
+                        CloseReason.CloseCodes.TRY_AGAIN_LATER, "outbound queue overflow"));
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    private synchronized void shutdown() {
+        closed = true;
+        queue.clear();
+    }
+
+    public synchronized int depth() {
+        return queue.size();
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    // 세션별 대기 중인 프레임 수 (sessionId -> depth)
+    public static Map<String, Integer> queueDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+        OUTBOXES.forEach((id, box) -> depths.put(id, box.depth()));
+        return depths;
+    }
+
+    public static int maxQueueDepth() {
+        int max = 0;
+        for (SessionOutbox box : OUTBOXES.values()) {
+            max = Math.max(max, box.depth());
+        }
+        return max;
+    }
+
+    public static int sessionCount() {
+        return OUTBOXES.size();
+    }
+
+    public static long sentCount() {
+        return SENT.get();
+    }
+
+    public static long droppedCount() {
+        return DROPPED.get();
+    }
+
+    public static long coalescedCount() {
+        return COALESCED.get();
+    }
+
+    public static long disconnectedCount() {
+        return DISCONNECTED.get();
+    }
+
+    private static final class Pending {
+        final String key;
+        final Priority priority;
+        final long enqueuedAt = System.nanoTime();
+        String text;
+        ByteBuffer binary;  // 바이너리 세션이면 이쪽을 보냄
+
+        Pending(String key, String text, ByteBuffer binary, Priority priority) {
+            this.key = key;
+            this.text = text;
+            this.binary = binary;
+            this.priority = priority;
+        }
+    }
+}
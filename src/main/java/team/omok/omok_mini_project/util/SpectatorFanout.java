@@ -0,0 +1,178 @@
+package team.omok.omok_mini_project.util;
+
+import javax.websocket.Session;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 방 하나의 관전자 전송 (샤드별 분산).
+ *
+ * - 관전자를 세션 id 해시로 최대 SHARDS개 샤드에 나누고, 샤드마다 SerialExecutor가 자기 목록만 돌며 보낸다.
+ *   착수를 처리한 방 스레드는 샤드마다 작업 1개만 넣고 돌아가므로 관전자 수와 무관하게 일정한 비용만 든다.
+ * - 샤드 목록 추가/제거도 같은 샤드 큐에서 처리한다. (입장 이전 프레임은 안 받고, 입장 후 프레임은 빠짐없이 받음)
+ * - 플레이어는 RoomBroadcaster가 먼저 바로 보내고, 관전자는 그 다음에 여기로 넘긴다.
+ *
+ * 선택: 관전자 묶음 전송 (-Domok.spectator.batchMs=250 등, 기본 0 = 끔)
+ * - 켜면 관전자 프레임을 모아두었다가 batchMs마다 샤드별 작업 1개로 한꺼번에 보낸다.
+ *   (관전 화면이 최대 batchMs만큼 늦는 대신 착수당 서버 비용이 관전자 수/착수 빈도와 무관해짐)
+ * - 입장/개별 전송 전에는 모아둔 프레임을 먼저 내보내서 순서를 지킨다.
+ */
+public final class SpectatorFanout {
+
+    private static final int SHARDS = 8;
+    private static final long BATCH_MS = Long.getLong("omok.spectator.batchMs", 0L);
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+    // 모든 방의 관전자 샤드가 공유하는 전송 스레드풀 (방 메일박스 풀과 분리)
+    private static final ExecutorService FANOUT_POOL = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+            r -> {
+                Thread t = new Thread(r, "omok-fanout-" + THREAD_SEQ.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    private static final TimingWheel BATCH_TIMER = TimingWheel.shared();
+
+    // 전체 지표
+    private static final LongAdder FRAMES = new LongAdder();       // 관전자 대상 프레임 수
+    private static final LongAdder SHARD_TASKS = new LongAdder();  // 샤드 전송 작업 수
+    private static final LongAdder DELIVERIES = new LongAdder();   // 세션별 전송 수
+    private static final LongAdder BATCHES = new LongAdder();      // 묶음 전송 횟수
+
+    // 샤드는 처음 관전자가 들어올 때 만든다 (관전자 없는 방은 비용 0)
+    private final AtomicReferenceArray<Shard> shards = new AtomicReferenceArray<>(SHARDS);
+    private final AtomicInteger spectatorCount = new AtomicInteger();
+
+    // 묶음 전송 대기 프레임 (this 락으로 보호)
+    private List<EncodedFrame> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /// ////////////// 관전자 목록 ////////////////////
+
+    public void add(Session session) {
+        flushPending();
+        Shard shard = shardOf(session);
+        shard.members.incrementAndGet();
+        spectatorCount.incrementAndGet();
+        shard.executor.execute(() -> shard.sessions.add(session));
+    }
+
+    public void remove(Session session) {
+        Shard shard = shardOf(session);
+        shard.members.decrementAndGet();
+        spectatorCount.decrementAndGet();
+        shard.executor.execute(() -> shard.sessions.remove(session));
+    }
+
+    public int size() {
+        return spectatorCount.get();
+    }
+
+    /// ////////////// 전송 ////////////////////
+
+    // 관전자 전체에 전송 (묶음 전송이 켜져 있으면 다음 flush 때)
+    public void broadcast(EncodedFrame frame) {
+        if (spectatorCount.get() <= 0) return;
+        FRAMES.increment();
+
+        if (BATCH_MS <= 0) {
+            dispatch(List.of(frame));
+            return;
+        }
+
+        synchronized (this) {
+            pending.add(frame);
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        BATCH_TIMER.schedule(this::flushPending, BATCH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // 관전자 한 명에게만 전송 (같은 샤드 큐를 타서 broadcast와 순서가 섞이지 않음)
+    public void sendTo(Session session, EncodedFrame frame) {
+        flushPending();
+        Shard shard = shardOf(session);
+        shard.executor.execute(() -> SessionOutbox.send(session, frame));
+    }
+
+    private void flushPending() {
+        if (BATCH_MS <= 0) return;
+
+        // 타이머 스레드와 방 스레드(add/sendTo)가 동시에 flush해도 묶음이 샤드 큐에 순서대로 들어가도록
+        // 꺼내기와 적재를 같은 락 안에서 한다 (executor.execute는 큐에 넣기만 해서 막히지 않음)
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            List<EncodedFrame> frames = pending;
+            pending = new ArrayList<>();
+            BATCHES.increment();
+            dispatch(frames);
+        }
+    }
+
+    // 관전자가 있는 샤드마다 전송 작업 1개씩
+    private void dispatch(List<EncodedFrame> frames) {
+        for (int i = 0; i < SHARDS; i++) {
+            Shard shard = shards.get(i);
+            if (shard == null || shard.members.get() <= 0) continue;
+
+            SHARD_TASKS.increment();
+            shard.executor.execute(() -> {
+                for (Session s : shard.sessions) {
+                    for (EncodedFrame f : frames) {
+                        SessionOutbox.send(s, f);
+                    }
+                }
+                DELIVERIES.add((long) shard.sessions.size() * frames.size());
+            });
+        }
+    }
+
+    private Shard shardOf(Session session) {
+        int idx = (session.getId().hashCode() & 0x7fffffff) % SHARDS;
+        Shard shard = shards.get(idx);
+        if (shard == null) {
+            shards.compareAndSet(idx, null, new Shard());
+            shard = shards.get(idx);
+        }
+        return shard;
+    }
+
+    /// ////////////// 지표 ////////////////////
+
+    public static long getFrameCount() {
+        return FRAMES.sum();
+    }
+
+    public static long getShardTaskCount() {
+        return SHARD_TASKS.sum();
+    }
+
+    public static long getDeliveryCount() {
+        return DELIVERIES.sum();
+    }
+
+    public static long getBatchCount() {
+        return BATCHES.sum();
+    }
+
+    public static long getBatchMs() {
+        return BATCH_MS;
+    }
+
+    private static final class Shard {
+        final SerialExecutor executor = new SerialExecutor(FANOUT_POOL);
+        // executor 안에서만 접근
+        final List<Session> sessions = new ArrayList<>();
+        // 호출 쪽에서 보는 인원 수 (빈 샤드에 작업을 넣지 않기 위함)
+        final AtomicInteger members = new AtomicInteger();
+    }
+}
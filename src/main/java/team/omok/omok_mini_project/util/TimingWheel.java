@@ -0,0 +1,230 @@
+package team.omok.omok_mini_project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/*
+ * 해시드 타이밍 휠 (턴 제한시간 등 "대부분 취소되는" 타이머용).
+ *
+ * - 휠은 tickMs 간격의 칸(bucket) N개로 된 원형 배열, 칸마다 이중 연결 리스트
+ * - 등록/취소는 큐에 넣기만 하고(O(1)), 실제 칸 이동/제거는 워커 스레드 1개가 tick마다 처리
+ * - 만료된 타이머는 tick 단위로 모아서 한 번에 실행(배치 디스패치)
+ * - 취소된 타이머는 다음 tick에 칸에서 바로 빠지므로 죽은 항목이 쌓이지 않는다
+ *
+ * 타이머 작업은 워커 스레드에서 실행되므로 가볍게 유지해야 한다. (보통 방 메일박스에 넘기기만 함)
+ */
+public final class TimingWheel {
+
+    // 전체 게임이 공유하는 휠 (100ms 단위, 512칸 = 한 바퀴 51.2초)
+    private static final TimingWheel SHARED = new TimingWheel("omok-turn-timer", 100, 512);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger armed = new AtomicInteger();
+
+    private final long startNanos = System.nanoTime();
+    private long tick;
+
+    public TimingWheel(String threadName, long tickMs, int ticksPerWheel) {
+        if (Integer.bitCount(ticksPerWheel) != 1) {
+            throw new IllegalArgumentException("ticksPerWheel must be a power of two");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheel = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = ticksPerWheel - 1;
+
+        Thread worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static TimingWheel shared() {
+        return SHARED;
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(delay);
+        Entry e = new Entry(this, task, deadline);
+        armed.incrementAndGet();
+        pending.offer(e);
+        return e;
+    }
+
+    // 아직 만료/취소되지 않은 타이머 수 (큐 대기 포함)
+    public int armedCount() {
+        return armed.get();
+    }
+
+    /// ////////////// 워커 ////////////////////
+
+    private void run() {
+        List<Entry> expired = new ArrayList<>();
+        while (true) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(expired);
+            dispatch(expired);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        // 한 tick에 너무 오래 머물지 않게 상한을 둔다
+        for (int i = 0; i < 100_000; i++) {
+            Entry e = pending.poll();
+            if (e == null) return;
+            if (e.state != Entry.ST_INIT) continue;
+
+            long ticks = e.deadline / tickNanos;
+            e.remainingRounds = (ticks - tick) / wheel.length;
+            // 이미 지난 deadline은 현재 칸에 넣어서 이번 tick에 바로 만료
+            long target = Math.max(ticks, tick);
+            wheel[(int) (target & mask)].add(e);
+        }
+    }
+
+    private void removeCancelled() {
+        Entry e;
+        while ((e = cancelled.poll()) != null) {
+            if (e.bucket != null) {
+                e.bucket.remove(e);
+            }
+        }
+    }
+
+    private void dispatch(List<Entry> expired) {
+        for (Entry e : expired) {
+            try {
+                e.task.run();
+            } catch (Throwable t) {
+                System.out.println("[WARN] TimingWheel task failed: " + t);
+                t.printStackTrace();
+            }
+        }
+        expired.clear();
+    }
+
+    /// ////////////// 타이머 핸들 ////////////////////
+
+    public interface Timeout {
+        // 아직 실행 전이면 취소하고 true
+        boolean cancel();
+
+        boolean isCancelled();
+    }
+
+    private static final class Entry implements Timeout {
+        static final int ST_INIT = 0;
+        static final int ST_CANCELLED = 1;
+        static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Entry> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        final TimingWheel timer;
+        final Runnable task;
+        final long deadline;
+        volatile int state = ST_INIT;
+
+        // 워커 스레드 전용
+        long remainingRounds;
+        Bucket bucket;
+        Entry prev;
+        Entry next;
+
+        Entry(TimingWheel timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.armed.decrementAndGet();
+            timer.cancelled.offer(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        boolean expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return false;
+            }
+            timer.armed.decrementAndGet();
+            return true;
+        }
+    }
+
+    // 휠 한 칸 (워커 스레드만 접근)
+    private static final class Bucket {
+        private Entry head;
+        private Entry tail;
+
+        void add(Entry e) {
+            e.bucket = this;
+            if (head == null) {
+                head = tail = e;
+            } else {
+                tail.next = e;
+                e.prev = tail;
+                tail = e;
+            }
+        }
+
+        void remove(Entry e) {
+            if (e.prev != null) e.prev.next = e.next;
+            else head = e.next;
+            if (e.next != null) e.next.prev = e.prev;
+            else tail = e.prev;
+            e.prev = e.next = null;
+            e.bucket = null;
+        }
+
+        // 이번 바퀴에 만료될 항목을 out에 모으고 칸에서 뺀다
+        void expire(List<Entry> out) {
+            Entry e = head;
+            while (e != null) {
+                Entry next = e.next;
+                if (e.remainingRounds <= 0) {
+                    remove(e);
+                    if (e.expire()) {
+                        out.add(e);
+                    }
+                } else {
+                    e.remainingRounds--;
+                }
+                e = next;
+            }
+        }
+    }
+}
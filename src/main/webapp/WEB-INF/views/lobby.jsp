@@ -266,6 +266,22 @@
             display: block;
         }
 
+        /* 랭크 매칭 버튼 */
+        .btn-match {
+            width: 100%;
+            margin-bottom: 10px;
+            padding: 10px 0;
+            border: none;
+            border-radius: 8px;
+            background-color: #8b5a2b;
+            color: white;
+            font-weight: bold;
+            cursor: pointer;
+        }
+        .btn-match.waiting {
+            background-color: #999;
+        }
+
         /* 유저 프로필 */
         .user-profile-btn {
             position: relative;
@@ -518,6 +534,7 @@
                 </button>
             </form>
         </div>
+        <button id="matchBtn" class="btn-match" onclick="toggleMatch()">랭크 매칭</button>
     </div>
 
 </div>
@@ -546,11 +563,26 @@
                 console.log("서버 연결 메시지: " + data.message);
                 break;
             case "ROOM_LIST":
-                renderRoomList(data.rooms); // 방 목록 그리기 함수 호출
+                applyRoomSnapshot(data); // 전체 목록 (접속 시 / 재동기화)
+                break;
+            case "ROOM_ADDED":
+            case "ROOM_UPDATED":
+            case "ROOM_REMOVED":
+                applyRoomDelta(data); // 방 하나만 변경
                 break;
             case "CHAT":
                 addChatMessage(data.nickname, data.message); // 채팅 추가 함수 호출
                 break;
+            case "MATCH_QUEUED":
+                setMatchWaiting(true);
+                break;
+            case "MATCH_CANCELLED":
+                setMatchWaiting(false);
+                break;
+            case "MATCH_FOUND":
+                // 서버가 방을 만들고 두 명을 플레이어로 넣어둠
+                location.href = "/omok/room?roomId=" + encodeURIComponent(data.roomId) + "&role=player";
+                break;
             default:
                 console.log("알 수 없는 메시지:", data);
         }
@@ -561,7 +593,57 @@
         document.getElementById("lobbyStatus").style.color = "red";
     };
 
-    // 3. 방 목록 렌더링 (디자인 입혀서 출력)
+    // 랭크 매칭 (레이팅 비슷한 상대를 서버가 찾아서 방 생성)
+    let matchWaiting = false;
+
+    function toggleMatch() {
+        lobbySocket.send(JSON.stringify({ type: matchWaiting ? "MATCH_CANCEL" : "MATCH_JOIN" }));
+    }
+
+    function setMatchWaiting(waiting) {
+        matchWaiting = waiting;
+        const btn = document.getElementById("matchBtn");
+        btn.innerText = waiting ? "매칭 중... (취소)" : "랭크 매칭";
+        btn.classList.toggle("waiting", waiting);
+    }
+
+    // 3. 방 목록 동기화 (seq 기반 증분)
+    // roomSeq: 마지막으로 반영한 seq (null = 아직 전체 목록 못 받음)
+    const roomMap = new Map();
+    let roomSeq = null;
+    let roomResyncing = false;
+
+    function applyRoomSnapshot(data) {
+        roomMap.clear();
+        (data.rooms || []).forEach(room => roomMap.set(room.roomId, room));
+        roomSeq = data.seq;
+        roomResyncing = false;
+        renderRoomList(Array.from(roomMap.values()));
+    }
+
+    function applyRoomDelta(data) {
+        // 전체 목록 받기 전이거나 이미 반영된 변경은 무시
+        if (roomSeq === null || data.seq <= roomSeq) return;
+
+        // 중간 변경을 놓쳤으면 전체 목록 다시 요청
+        if (data.seq !== roomSeq + 1) {
+            if (!roomResyncing) {
+                roomResyncing = true;
+                lobbySocket.send(JSON.stringify({ type: "REQUEST_ROOM_LIST" }));
+            }
+            return;
+        }
+
+        if (data.type === "ROOM_REMOVED") {
+            roomMap.delete(data.roomId);
+        } else {
+            roomMap.set(data.room.roomId, data.room);
+        }
+        roomSeq = data.seq;
+        renderRoomList(Array.from(roomMap.values()));
+    }
+
+    // 방 목록 렌더링 (디자인 입혀서 출력)
     function renderRoomList(rooms) {
         const roomListDiv = document.getElementById("roomList");
         roomListDiv.innerHTML = ""; // 기존 목록 초기화
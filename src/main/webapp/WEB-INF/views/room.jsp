@@ -1,8 +1,8 @@
 <%@ page contentType="text/html;charset=UTF-8" %>
-<%@ page import="team.omok.omok_mini_project.domain.Room" %>
 <%@ page import="team.omok.omok_mini_project.domain.vo.UserVO" %>
 <%
-    Room room = (Room) request.getAttribute("room");
+    String roomId = (String) request.getAttribute("roomId");
+    Object ownerId = request.getAttribute("ownerId");
     UserVO loginUser = (UserVO) session.getAttribute("loginUser");
 %>
 
@@ -17,8 +17,8 @@
 
     <!-- 서버에서 내려주는 초기 데이터 -->
     <script>
-        const ROOM_ID = "<%= room.getRoomId() %>";
-        const OWNER_ID = "<%= room.getOwnerId() %>";
+        const ROOM_ID = "<%= roomId %>";
+        const OWNER_ID = "<%= ownerId %>";
 
         // 관전 여부 (URL 파라미터 기준) true or false
         const IS_SPECTATOR = <%= Boolean.TRUE.equals(request.getAttribute("isSpectator")) %>;
@@ -47,7 +47,7 @@
 
 <div class="room-container">
     <div class="room-header">
-        <div class="room-info">Room ID: <span id="roomIdDisplay"><%= room.getRoomId() %></span></div>
+        <div class="room-info">Room ID: <span id="roomIdDisplay"><%= roomId %></span></div>
         <div id="status" class="game-status">대기 중...</div>
     </div>
 
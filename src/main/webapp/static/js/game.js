@@ -19,6 +19,7 @@ function placeStone(x, y) {
     if (!myColor) return;                // 관전자
     if (currentTurn !== myColor) return; // 내 턴 아님
     if (boardState[y][x]) return;        // 이미 둔 곳
+    if (gridLayer.children[y * BOARD_SIZE + x].classList.contains("forbidden")) return; // 흑 금수
 
     sendMessage("MOVE", { x, y });
 }
@@ -29,4 +30,10 @@ function applyMove(x, y, color) {
 
     currentTurn = color === "BLACK" ? "WHITE" : "BLACK";
     updateActivePlayer(currentTurn);
+
+    // 내가 흑이고 내 턴이 되면 금수 칸 요청
+    clearForbiddenCells();
+    if (myColor === "BLACK" && currentTurn === "BLACK") {
+        sendMessage("FORBIDDEN_CELLS", null);
+    }
 }
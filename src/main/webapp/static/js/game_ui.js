@@ -33,6 +33,7 @@ const messageHandlers = {
     ERROR: handleError,
     ROOM_MEMBERS: handleRoomMembers,
     BOARD_SNAPSHOT: handleBoardSnapshot,
+    FORBIDDEN_CELLS: handleForbiddenCells,
 };
 
 function handleServerMessage(msg) {
@@ -166,24 +167,64 @@ function handleChat(payload) {
 function handleBoardSnapshot(payload) {
     const {board, turn, remainingTime} = payload;
 
+    // 0. 재접속한 플레이어 (서버 재시작 복구 포함): GAME_START 대신 여기서 내 돌 색을 받음
+    if (payload.myColor) {
+        myColor = payload.myColor;
+        myUserId = payload.myUserId;
+        myRole = payload.role;
+        countdownOverlay.style.display = "none";
+        statusEl.innerText = "게임 재개!";
+    }
+
     // 1. 보드 초기화 및 렌더링
     renderBoard();
 
-    // 2. 2차원 배열을 돌며 돌 그리기
-    for (let y = 0; y < board.length; y++) {
-        for (let x = 0; x < board[y].length; x++) {
-            const stone = board[y][x];
-            if (stone === "BLACK" || stone === "WHITE") {
+    // 2. 압축 보드(칸당 2비트, base64)를 풀어서 돌 그리기
+    const cells = decodePackedBoard(board);
+    for (let y = 0; y < BOARD_SIZE; y++) {
+        for (let x = 0; x < BOARD_SIZE; x++) {
+            const stone = cells[y * BOARD_SIZE + x];
+            boardState[y][x] = stone;
+            if (stone) {
                 drawStone(x, y, stone);
             }
         }
     }
 
     // 3. 현재 턴 표시 및 남은 시간 UI 연동 (필요 시)
+    currentTurn = turn;
     updateActivePlayer(turn);
     console.log(`현재 ${turn}의 턴, 남은 시간: ${remainingTime}ms`);
 }
 
+// BOARD_SNAPSHOT 보드 디코딩 (서버 BinaryCodec.packCells와 같은 배치)
+// 칸 i = y * 15 + x, byte[i >> 2]의 (i & 3) * 2 비트부터 2비트: 0=BLACK, 1=WHITE, 2=EMPTY
+const PACKED_STONES = ["BLACK", "WHITE", null, null];
+
+function decodePackedBoard(base64) {
+    const bytes = Uint8Array.from(atob(base64), c => c.charCodeAt(0));
+    const cells = new Array(BOARD_SIZE * BOARD_SIZE);
+    for (let i = 0; i < cells.length; i++) {
+        cells[i] = PACKED_STONES[(bytes[i >> 2] >> ((i & 3) * 2)) & 0x3];
+    }
+    return cells;
+}
+
+// 흑 금수 칸 표시 (서버가 계산한 목록 그대로 사용)
+function handleForbiddenCells(payload) {
+    clearForbiddenCells();
+    (payload.cells || []).forEach(([x, y]) => {
+        const cell = gridLayer.children[y * BOARD_SIZE + x];
+        if (cell) cell.classList.add("forbidden");
+    });
+}
+
+function clearForbiddenCells() {
+    if (!gridLayer) return;
+    gridLayer.querySelectorAll(".cell.forbidden")
+        .forEach(cell => cell.classList.remove("forbidden"));
+}
+
 function showCountdown(sec) {
     statusEl.innerText = "게임 시작 임박!";
 
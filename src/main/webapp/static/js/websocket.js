@@ -1,17 +1,25 @@
 let socket = null;
 
+// 바이너리 서브프로토콜 (서버 BinaryCodec과 같은 형식)
+// 서버가 지원하지 않으면 protocol이 빈 문자열이 되고 JSON만 주고받는다.
+const BINARY_PROTOCOL = "omok.bin.v1";
+const END_REASONS = [null, "TIMEOUT", "DRAW"];
+
 function connectWebSocket() {
     console.log("[Websocket.js] WS_URL=" + WS_URL);
     // 예상되는 WS_URL = ws://localhost:8090/omok/ws/game/{roomId}?role=spectator
-    socket = new WebSocket(WS_URL);
+    socket = new WebSocket(WS_URL, [BINARY_PROTOCOL]);
+    socket.binaryType = "arraybuffer";
 
     socket.onopen = () => {
-        console.log("WebSocket 연결 성공");
+        console.log("WebSocket 연결 성공 (protocol=" + (socket.protocol || "json") + ")");
     };
 
     socket.onmessage = (event) => {
-        const message = JSON.parse(event.data);
-        handleServerMessage(message);
+        const message = event.data instanceof ArrayBuffer
+            ? decodeBinaryMessage(event.data)
+            : JSON.parse(event.data);
+        if (message) handleServerMessage(message);
     };
 
     socket.onclose = () => {
@@ -19,7 +27,40 @@ function connectWebSocket() {
     };
 }
 
+// 바이너리 프레임 -> JSON과 같은 {type, payload} 모양으로 변환
+function decodeBinaryMessage(buffer) {
+    const view = new DataView(buffer);
+    switch (view.getUint8(0)) {
+        case 0x81:
+            return {
+                type: "MOVE_OK",
+                payload: {
+                    x: view.getInt8(1),
+                    y: view.getInt8(2),
+                    color: view.getUint8(3) === 1 ? "WHITE" : "BLACK",
+                    moveNumber: view.getUint16(4),
+                },
+            };
+        case 0x82:
+            return { type: "COUNTDOWN", payload: { sec: view.getUint8(1) } };
+        case 0x83: {
+            const reason = END_REASONS[view.getUint8(1)];
+            const payload = {};
+            if (reason) payload.reason = reason;
+            if (reason !== "DRAW") payload.winner = view.getInt32(2);
+            return { type: "GAME_END", payload };
+        }
+        default:
+            console.warn("Unknown binary frame:", view.getUint8(0));
+            return null;
+    }
+}
+
 function sendMessage(type, payload) {
+    if (type === "MOVE" && socket.protocol === BINARY_PROTOCOL) {
+        socket.send(Int8Array.of(0x01, payload.x, payload.y));
+        return;
+    }
     socket.send(JSON.stringify({ type, payload }));
 }
 
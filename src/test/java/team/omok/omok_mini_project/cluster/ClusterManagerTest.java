@@ -0,0 +1,294 @@
+package team.omok.omok_mini_project.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import team.omok.omok_mini_project.enums.Stone;
+import team.omok.omok_mini_project.util.BinaryCodec;
+import team.omok.omok_mini_project.util.FrameWriters;
+import team.omok.omok_mini_project.util.SessionOutbox;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 같은 JVM에서 노드 2개(n1, n2)를 띄워 클러스터 동작 확인
+ * - 버스는 테스트마다 새 LoopbackEventBus, 노드마다 자기 방 테이블을 가진 NodeHandler
+ * - 방은 n1 소유로 만들고, 웹소켓은 n2(엣지)에 붙인다.
+ */
+class ClusterManagerTest {
+
+    private static final long HEARTBEAT_MS = 50;
+    private static final long WAIT_MS = 3_000;
+
+    private LoopbackEventBus bus;
+    private NodeHandler h1;
+    private NodeHandler h2;
+    private ClusterManager n1;
+    private ClusterManager n2;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoopbackEventBus();
+        h1 = new NodeHandler();
+        h2 = new NodeHandler();
+        n1 = new ClusterManager("n1", List.of("n1", "n2"), bus, h1, HEARTBEAT_MS);
+        n2 = new ClusterManager("n2", List.of("n1", "n2"), bus, h2, HEARTBEAT_MS);
+        n1.start();
+        n2.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        n1.stop();
+        n2.stop();
+    }
+
+    @Test
+    void roomIdsAreOwnedByCreatingNode() {
+        String roomId = n1.newLocalRoomId();
+        assertEquals("n1", n1.ownerOf(roomId));
+        assertEquals("n1", n2.ownerOf(roomId));
+        assertFalse(n1.isRemote(roomId));
+        assertTrue(n2.isRemote(roomId));
+    }
+
+    @Test
+    void joinIsForwardedAndFramesAreDelivered() {
+        String roomId = h1.createRoom(n1.newLocalRoomId(), 1);
+        FakeSession edge = new FakeSession("ws-1", roomId, true);
+
+        n2.forwardJoin(roomId, 7, edge.session, false);
+        await(() -> edge.received.contains("{\"type\":\"WELCOME\"}"));
+
+        // 주인 노드는 RemoteSession으로 보고, 바이너리 협상 여부도 넘어간다
+        Session remote = h1.sessions.get(roomId).get(0);
+        assertEquals("n2/ws-1", remote.getId());
+        assertTrue(BinaryCodec.isBinary(remote));
+        assertEquals(1, n1.getRemoteSessionCount());
+
+        n2.forwardMove(roomId, 7, 3, 4);
+        await(() -> edge.received.contains("BIN:" + BinaryCodec.OP_MOVE_OK));
+        assertEquals(List.of("move 7 3,4"), h1.moves);
+
+        n2.forwardLeave(roomId, 7, edge.session);
+        await(() -> n1.getRemoteSessionCount() == 0);
+        assertFalse(remote.isOpen());
+        assertEquals(0, n2.getEdgeSessionCount());
+    }
+
+    @Test
+    void joinToMissingRoomClosesEdgeSession() {
+        String roomId = n1.newLocalRoomId();     // n1에 방 없음
+        FakeSession edge = new FakeSession("ws-2", roomId, false);
+
+        n2.forwardJoin(roomId, 7, edge.session, true);
+        await(() -> edge.closed);
+    }
+
+    @Test
+    void enterIsAnsweredByOwner() {
+        String roomId = h1.createRoom(n1.newLocalRoomId(), 1);
+
+        n2.enterRemote(roomId, 2);
+        assertEquals(List.of(1, 2), h1.seats.get(roomId));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> n2.enterRemote(roomId, 3));
+        assertEquals("방이 가득 찼습니다", e.getMessage());
+    }
+
+    @Test
+    void lobbyViewsAreMerged() {
+        String roomId = h1.createRoom(n1.newLocalRoomId(), 1);
+
+        n1.publishRoomView(h1.viewOf(roomId));
+        await(() -> h2.remoteViews.containsKey(roomId));
+        assertEquals("n1", n2.getRemoteRoomNode(roomId));
+
+        n1.publishRoomRemoved(roomId);
+        await(() -> !h2.remoteViews.containsKey(roomId));
+        assertNull(n2.getRemoteRoomNode(roomId));
+    }
+
+    @Test
+    void lateNodeReceivesExistingRooms() {
+        n2.stop();
+        String roomId = h1.createRoom(n1.newLocalRoomId(), 1);
+
+        // 다시 뜬 n2는 LOBBY_SYNC로 n1 방 목록을 받는다
+        n2.start();
+        await(() -> h2.remoteViews.containsKey(roomId));
+    }
+
+    @Test
+    void silentPeerIsExpired() {
+        String roomId = h1.createRoom(n1.newLocalRoomId(), 1);
+        n1.publishRoomView(h1.viewOf(roomId));
+        await(() -> h2.remoteViews.containsKey(roomId));
+
+        FakeSession edge = new FakeSession("ws-3", roomId, false);
+        n2.forwardJoin(roomId, 8, edge.session, true);
+        await(() -> n1.getRemoteSessionCount() == 1);
+
+        // n1이 heartbeat를 멈추면 n2는 n1 방을 로비에서 빼고, n1 방에 붙은 세션을 끊는다
+        n1.stop();
+        await(() -> n2.getPeersExpiredCount() == 1);
+        await(() -> !h2.remoteViews.containsKey(roomId));
+        await(() -> edge.closed);
+        assertEquals(0, n2.getPeerCount());
+    }
+
+    /// ////////////// 도우미 ////////////////////
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met in " + WAIT_MS + "ms");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    // 노드 하나의 방 상태 (RoomService/LobbyFeed 대신, 노드끼리 공유하지 않음)
+    private static final class NodeHandler implements ClusterHandler {
+        final Map<String, List<Integer>> seats = new ConcurrentHashMap<>();
+        final Map<String, List<Session>> sessions = new ConcurrentHashMap<>();
+        final Map<String, Map<String, Object>> remoteViews = new ConcurrentHashMap<>();
+        final List<String> moves = new CopyOnWriteArrayList<>();
+
+        String createRoom(String roomId, int ownerId) {
+            seats.put(roomId, new CopyOnWriteArrayList<>(List.of(ownerId)));
+            sessions.put(roomId, new CopyOnWriteArrayList<>());
+            return roomId;
+        }
+
+        Map<String, Object> viewOf(String roomId) {
+            return Map.of("roomId", roomId, "players", new ArrayList<>(seats.get(roomId)), "status", "WAIT");
+        }
+
+        @Override
+        public void onJoin(String roomId, int userId, Session session, boolean spectator) {
+            List<Session> room = sessions.get(roomId);
+            if (room == null) {
+                throw new IllegalArgumentException("방이 존재하지 않습니다");
+            }
+            room.add(session);
+            SessionOutbox.send(session, "WELCOME", "{\"type\":\"WELCOME\"}", SessionOutbox.Priority.CRITICAL);
+        }
+
+        @Override
+        public void onMove(String roomId, int userId, int x, int y) {
+            moves.add("move " + userId + " " + x + "," + y);
+            for (Session session : sessions.get(roomId)) {
+                SessionOutbox.send(session, FrameWriters.moveOk(x, y, Stone.BLACK, moves.size()));
+            }
+        }
+
+        @Override
+        public void onChat(String roomId, int userId, String message) {
+        }
+
+        @Override
+        public void onForbiddenCells(String roomId, Session session) {
+        }
+
+        @Override
+        public void onLeave(String roomId, int userId, Session session) {
+            sessions.get(roomId).remove(session);
+        }
+
+        @Override
+        public void enterRoom(String roomId, int userId) {
+            List<Integer> room = seats.get(roomId);
+            if (room == null) {
+                throw new IllegalArgumentException("방이 존재하지 않습니다");
+            }
+            synchronized (room) {
+                if (room.size() >= 2) {
+                    throw new IllegalStateException("방이 가득 찼습니다");
+                }
+                room.add(userId);
+            }
+        }
+
+        @Override
+        public List<Map<String, Object>> localRoomViews() {
+            List<Map<String, Object>> views = new ArrayList<>();
+            for (String roomId : seats.keySet()) {
+                views.add(viewOf(roomId));
+            }
+            return views;
+        }
+
+        @Override
+        public void remoteRoomChanged(Map<String, Object> view) {
+            remoteViews.put((String) view.get("roomId"), view);
+        }
+
+        @Override
+        public void remoteRoomRemoved(String roomId) {
+            remoteViews.remove(roomId);
+        }
+    }
+
+    // 엣지 노드의 웹소켓 세션 (받은 텍스트는 그대로, 바이너리는 "BIN:opcode"로 기록)
+    private static final class FakeSession {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final Session session;
+        volatile boolean closed;
+
+        FakeSession(String id, String roomId, boolean binary) {
+            Map<String, Object> props = new ConcurrentHashMap<>();
+            if (binary) {
+                props.put(BinaryCodec.SESSION_KEY, Boolean.TRUE);
+            }
+            RemoteEndpoint.Async async = (RemoteEndpoint.Async) Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class[]{RemoteEndpoint.Async.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "sendText" -> received.add((String) args[0]);
+                            case "sendBinary" -> received.add("BIN:" + ((ByteBuffer) args[0]).get(0));
+                            default -> {
+                                return null;
+                            }
+                        }
+                        ((SendHandler) args[1]).onResult(new SendResult());
+                        return null;
+                    });
+            session = (Session) Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class[]{Session.class}, (proxy, method, args) ->
+                            switch (method.getName()) {
+                                case "getId" -> id;
+                                case "isOpen" -> !closed;
+                                case "getAsyncRemote" -> async;
+                                case "getUserProperties" -> props;
+                                case "getPathParameters" -> Map.of("roomId", roomId);
+                                case "close" -> {
+                                    closed = true;
+                                    yield null;
+                                }
+                                case "hashCode" -> id.hashCode();
+                                case "equals" -> proxy == args[0];
+                                case "toString" -> "FakeSession{" + id + "}";
+                                default -> null;
+                            });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package team.omok.omok_mini_project.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import team.omok.omok_mini_project.domain.GameState;
+import team.omok.omok_mini_project.domain.vo.RoomSnapshotVO;
+import team.omok.omok_mini_project.enums.Stone;
+import team.omok.omok_mini_project.manager.RoomManager;
+import team.omok.omok_mini_project.repository.MoveJournal;
+import team.omok.omok_mini_project.repository.RoomSnapshotStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재시작 복구 시간 측정: 방 10,000개 스냅샷 + 방마다 저널 착수 5개를 재생해서 RECOVERY_BUDGET_MS 안에 끝나는지 확인
+ * - 저널/스냅샷 디렉터리는 임시 디렉터리 (MoveJournal/RoomRecoveryService가 처음 로드되기 전에 지정)
+ * - 스냅샷에는 40수, 저널에는 그 뒤 5수를 빈 칸에만 둔다. (오목이 생기지 않는 칸만 사용)
+ */
+class RoomRecoveryBenchmarkTest {
+
+    private static final int ROOMS = 10_000;
+    private static final int SNAPSHOT_MOVES = 40;
+    private static final int JOURNAL_MOVES = 5;
+
+    @BeforeAll
+    static void useTempJournalDir() throws Exception {
+        Path dir = Files.createTempDirectory("omok-recovery-bench");
+        System.setProperty("omok.journal.dir", dir.toString());
+    }
+
+    @Test
+    void recoversTenThousandRoomsWithinBudget() throws Exception {
+        Path dir = MoveJournal.journalDir();
+        Random rnd = new Random(1);
+        long now = System.currentTimeMillis();
+
+        List<RoomSnapshotVO> snapshots = new ArrayList<>();
+        List<List<Integer>> freeCells = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            byte[] cells = new byte[225];
+            Arrays.fill(cells, (byte) Stone.EMPTY.ordinal());
+            List<Integer> free = new ArrayList<>();
+            for (int c = 0; c < 225; c++) {
+                // x, y가 5로 나눠 4인 줄은 비워둠 -> 어느 방향 5칸에도 빈 칸이 끼어서 승부가 나지 않는다
+                if (c % 15 % 5 != 4 && c / 15 % 5 != 4) free.add(c);
+            }
+            Collections.shuffle(free, rnd);
+
+            Stone turn = Stone.BLACK;
+            for (int m = 0; m < SNAPSHOT_MOVES; m++) {
+                cells[free.remove(free.size() - 1)] = (byte) turn.ordinal();
+                turn = GameState.opposite(turn);
+            }
+            snapshots.add(new RoomSnapshotVO(UUID.randomUUID().toString(), now, 2 * i + 1, 2 * i + 2,
+                    turn, SNAPSHOT_MOVES, 20_000, cells));
+            freeCells.add(free);
+        }
+        new RoomSnapshotStore(dir).write(now, snapshots);
+
+        MoveJournal journal = MoveJournal.getInstance();
+        for (int i = 0; i < ROOMS; i++) {
+            RoomSnapshotVO s = snapshots.get(i);
+            List<Integer> free = freeCells.get(i);
+            Stone turn = s.getTurn();
+            for (int m = 1; m <= JOURNAL_MOVES; m++) {
+                int c = free.remove(free.size() - 1);
+                journal.moved(s.getRoomId(), SNAPSHOT_MOVES + m, c % 15, c / 15, turn, 0);
+                turn = GameState.opposite(turn);
+            }
+            // 저널 큐가 넘쳐서 버려지지 않게 쓰기 스레드를 기다림
+            while (journal.getQueueDepth() > 10_000) {
+                Thread.sleep(5);
+            }
+        }
+        long expected = (long) ROOMS * JOURNAL_MOVES;
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (journal.getWrittenCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, journal.getDroppedCount());
+        assertTrue(journal.getWrittenCount() >= expected, "journal not flushed");
+
+        RoomRecoveryService recovery = RoomRecoveryService.getInstance();
+        long start = System.nanoTime();
+        int restored = recovery.recover();
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("[BENCH] recovered " + restored + " rooms, replayed "
+                + recovery.getLastReplayedEvents() + " events in " + ms + "ms");
+
+        assertEquals(ROOMS, restored);
+        assertEquals(expected, recovery.getLastReplayedEvents());
+        assertEquals(SNAPSHOT_MOVES + JOURNAL_MOVES, RoomManager.getInstance()
+                .getRoomById(snapshots.get(0).getRoomId()).getGame().getState().getMoveNumber());
+        assertTrue(ms <= RoomRecoveryService.RECOVERY_BUDGET_MS,
+                "recovery took " + ms + "ms (budget " + RoomRecoveryService.RECOVERY_BUDGET_MS + "ms)");
+    }
+}